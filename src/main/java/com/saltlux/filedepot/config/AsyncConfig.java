@@ -4,6 +4,7 @@ import java.util.concurrent.Executor;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ public class AsyncConfig {
   private final FileDepotProperties properties;
 
   @Bean
+  @Primary
   public Executor executor() {
     var processing = properties.getProcessing();
     int workerThreads = processing.getWorkerThreads();
@@ -36,4 +38,42 @@ public class AsyncConfig {
 
     return executor;
   }
+
+  /**
+   * Shared pool for fan-out MinIO calls (stat, get). Its size bounds the total number of
+   * concurrent storage requests issued by bulk operations across the whole process.
+   */
+  @Bean
+  public Executor storageExecutor() {
+    int maxConcurrency = properties.getMinio().getMaxConcurrency();
+
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(maxConcurrency);
+    executor.setMaxPoolSize(maxConcurrency);
+    executor.setThreadNamePrefix("storage-");
+    executor.initialize();
+
+    log.info("Initialized storage executor: poolSize={}", maxConcurrency);
+
+    return executor;
+  }
+
+  /**
+   * Shared pool for VLM OCR requests. Pages and images from every document being processed
+   * go through this pool, so its size is the process-wide limit on in-flight OCR calls.
+   */
+  @Bean
+  public Executor ocrExecutor() {
+    int maxConcurrency = properties.getParsekit().getVlm().getMaxConcurrency();
+
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(maxConcurrency);
+    executor.setMaxPoolSize(maxConcurrency);
+    executor.setThreadNamePrefix("ocr-");
+    executor.initialize();
+
+    log.info("Initialized OCR executor: poolSize={}", maxConcurrency);
+
+    return executor;
+  }
 }
@@ -15,6 +15,8 @@ public class FileDepotProperties {
   private ParsekitProperties parsekit = new ParsekitProperties();
   private EmbedKitProperties embedkit = new EmbedKitProperties();
   private Processing processing = new Processing();
+  private UploadProperties upload = new UploadProperties();
+  private DownloadProperties download = new DownloadProperties();
 
   @Getter
   @RequiredArgsConstructor
@@ -36,6 +38,25 @@ public class FileDepotProperties {
     private final String value;
   }
 
+  @Getter
+  @RequiredArgsConstructor
+  public enum EmbeddingFormat {
+    FLOAT32("float32"),  // 4 bytes per dimension
+    FLOAT16("float16"),  // 2 bytes per dimension
+    INT8("int8");        // 1 byte per dimension, per-vector scale
+
+    private final String value;
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public enum ChunkingStrategy {
+    REMOTE("remote"),  // embedkit chunk API
+    LOCAL("local");    // in-process, tokenizer vocabulary
+
+    private final String value;
+  }
+
   @Getter
   @Setter
   public static class MinioProperties {
@@ -43,6 +64,17 @@ public class FileDepotProperties {
     private String accessKey;
     private String secretKey;
     private String bucket;
+    private String region = "us-east-1";
+    private int maxConcurrency = 16;
+    private LocalCacheProperties localCache = new LocalCacheProperties();
+
+    @Getter
+    @Setter
+    public static class LocalCacheProperties {
+      private boolean enabled = false;
+      private String directory = System.getProperty("java.io.tmpdir") + "/file-depot-cache";
+      private long maxBytes = 10L * 1024 * 1024 * 1024;
+    }
   }
 
   @Getter
@@ -52,11 +84,14 @@ public class FileDepotProperties {
     private ConverterProperties converter = new ConverterProperties();
     private DoclingProperties docling = new DoclingProperties();
     private VlmProperties vlm = new VlmProperties();
+    private TextLayerProperties textLayer = new TextLayerProperties();
 
     @Getter
     @Setter
     public static class ConverterProperties {
       private String url;
+      private int imageDpi = 150;
+      private boolean cacheArtifacts = true;
     }
 
     @Getter
@@ -70,6 +105,24 @@ public class FileDepotProperties {
     public static class VlmProperties {
       private String url;
       private String model;
+      private int maxConcurrency = 8;
+      private OcrCacheProperties cache = new OcrCacheProperties();
+    }
+
+    @Getter
+    @Setter
+    public static class OcrCacheProperties {
+      private boolean enabled = true;
+      private boolean persistent = true;
+      private int memoryMaxSize = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class TextLayerProperties {
+      private boolean enabled = true;
+      private int minChars = 50;
+      private double minQualityRatio = 0.9;
     }
   }
 
@@ -79,6 +132,8 @@ public class FileDepotProperties {
     private EmbedKitProvider provider = EmbedKitProvider.NONE;
     private VllmProperties vllm = new VllmProperties();
     private LuxiaProperties luxia = new LuxiaProperties();
+    private BatchingProperties batching = new BatchingProperties();
+    private EmbeddingFormat storageFormat = EmbeddingFormat.FLOAT16;
 
     @Getter
     @Setter
@@ -94,6 +149,49 @@ public class FileDepotProperties {
       private String baseUrl;
       private int batchSize = 32;
     }
+
+    @Getter
+    @Setter
+    public static class BatchingProperties {
+      private boolean enabled = true;
+      private long maxWaitMillis = 20;
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class UploadProperties {
+    private int batchLimit = 1000;
+    private long streamPartSize = 16 * 1024 * 1024;
+    private NotificationProperties notification = new NotificationProperties();
+
+    @Getter
+    @Setter
+    public static class NotificationProperties {
+      private boolean enabled = false;
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class DownloadProperties {
+    private UrlCacheProperties urlCache = new UrlCacheProperties();
+    private BatchDownloadProperties batch = new BatchDownloadProperties();
+
+    @Getter
+    @Setter
+    public static class UrlCacheProperties {
+      private boolean enabled = true;
+      private int maxSize = 10000;
+      private int minRemainingSeconds = 600;
+    }
+
+    @Getter
+    @Setter
+    public static class BatchDownloadProperties {
+      private int prefetchCount = 8;
+      private long prefetchByteBudget = 64 * 1024 * 1024;
+    }
   }
 
   @Getter
@@ -102,14 +200,54 @@ public class FileDepotProperties {
     private int workerThreads = 4;
     private int queueCapacity = 1000;
     private int maxRetryCount = 3;
+    private int writeBatchSize = 500;
     private ChunkingProperties chunking = new ChunkingProperties();
+    private ExtractionProperties extraction = new ExtractionProperties();
+    private ClientGuardProperties clientGuard = new ClientGuardProperties();
     private BatchProperties batch = new BatchProperties();
 
     @Getter
     @Setter
     public static class ChunkingProperties {
+      private ChunkingStrategy strategy = ChunkingStrategy.REMOTE;
       private int size = 512;
       private int overlap = 100;
+      private String tokenizerPath;
+    }
+
+    @Getter
+    @Setter
+    public static class ExtractionProperties {
+      private boolean fastPath = true;
+      private long spillThreshold = 8 * 1024 * 1024;
+      private String spillDirectory = System.getProperty("java.io.tmpdir") + "/file-depot-extract";
+      private long maxClientInputSize = 256 * 1024 * 1024;  // converter input is passed as byte[]
+    }
+
+    @Getter
+    @Setter
+    public static class ClientGuardProperties {
+      private int failureThreshold = 5;
+      private int openSeconds = 30;
+      private GuardProperties converter = GuardProperties.of(4, 300);
+      private GuardProperties docling = GuardProperties.of(4, 600);
+      private GuardProperties vlm = GuardProperties.of(8, 120);
+      private GuardProperties embedding = GuardProperties.of(4, 120);
+    }
+
+    @Getter
+    @Setter
+    public static class GuardProperties {
+      private int maxConcurrency;
+      private int timeoutSeconds;
+      private long acquireTimeoutMillis = 100;  // bulkhead slot wait; short so workers are not held by a busy client
+
+      static GuardProperties of(int maxConcurrency, int timeoutSeconds) {
+        GuardProperties guard = new GuardProperties();
+        guard.setMaxConcurrency(maxConcurrency);
+        guard.setTimeoutSeconds(timeoutSeconds);
+        return guard;
+      }
     }
 
     @Getter
@@ -121,6 +259,8 @@ public class FileDepotProperties {
       private String chunkCron = "0 */5 * * * *";
       private String embedCron = "0 */5 * * * *";
       private String orphanCleanupCron = "0 0 * * * *";
+      private String embeddingMigrationCron = "-";
+      private int embeddingMigrationRowsPerRun = 100000;
     }
   }
 }
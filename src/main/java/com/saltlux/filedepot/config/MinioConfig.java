@@ -4,6 +4,9 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.saltlux.filedepot.service.MultipartMinioClient;
+
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import lombok.RequiredArgsConstructor;
 
@@ -22,4 +25,13 @@ public class MinioConfig {
         .credentials(minio.getAccessKey(), minio.getSecretKey())
         .build();
   }
+
+  @Bean
+  public MultipartMinioClient multipartMinioClient() {
+    var minio = properties.getMinio();
+    return new MultipartMinioClient(MinioAsyncClient.builder()
+        .endpoint(minio.getUrl())
+        .credentials(minio.getAccessKey(), minio.getSecretKey())
+        .build());
+  }
 }
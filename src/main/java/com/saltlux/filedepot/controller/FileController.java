@@ -1,19 +1,35 @@
 package com.saltlux.filedepot.controller;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.saltlux.filedepot.dto.BatchPrepareUploadRequest;
+import com.saltlux.filedepot.dto.ConfirmUploadResult;
+import com.saltlux.filedepot.dto.FileContentInfo;
+import com.saltlux.filedepot.dto.MultipartPartUrlRequest;
+import com.saltlux.filedepot.dto.MultipartPartUrlResponse;
+import com.saltlux.filedepot.dto.MultipartUploadInitiateRequest;
+import com.saltlux.filedepot.dto.MultipartUploadRequest;
+import com.saltlux.filedepot.dto.MultipartUploadResponse;
 import com.saltlux.filedepot.service.FileService;
 
 import lombok.RequiredArgsConstructor;
@@ -38,12 +54,64 @@ public class FileController {
     return CommonResponseDto.success(response);
   }
 
+  @PostMapping("/prepare-upload/batch")
+  public CommonResponseDto<List<UploadUrlResponse>> prepareUploadBatch(@RequestBody BatchPrepareUploadRequest request) {
+    List<UploadUrlResponse> responses = fileService.prepareUploadBatch(request.count());
+    return CommonResponseDto.success(responses);
+  }
+
+  @PostMapping("/multipart/initiate")
+  public CommonResponseDto<MultipartUploadResponse> initiateMultipartUpload(
+      @RequestBody(required = false) MultipartUploadInitiateRequest request) {
+    String contentType = request != null ? request.contentType() : null;
+    MultipartUploadResponse response = fileService.initiateMultipartUpload(contentType);
+    return CommonResponseDto.success(response);
+  }
+
+  @PostMapping("/multipart/part-urls")
+  public CommonResponseDto<List<MultipartPartUrlResponse>> getMultipartPartUrls(
+      @RequestBody MultipartPartUrlRequest request) {
+    List<MultipartPartUrlResponse> responses = fileService.getMultipartPartUrls(request);
+    return CommonResponseDto.success(responses);
+  }
+
+  @PostMapping("/multipart/complete")
+  public CommonResponseDto<Void> completeMultipartUpload(@RequestBody MultipartUploadRequest request) {
+    fileService.completeMultipartUpload(request);
+    return CommonResponseDto.success(null);
+  }
+
+  @PostMapping("/multipart/abort")
+  public CommonResponseDto<Void> abortMultipartUpload(@RequestBody MultipartUploadRequest request) {
+    fileService.abortMultipartUpload(request);
+    return CommonResponseDto.success(null);
+  }
+
   @PostMapping("/confirm-upload")
   public CommonResponseDto<StorageItemDto> confirmUpload(@RequestBody ConfirmUploadRequest request) {
     StorageItemDto item = fileService.confirmUpload(request);
     return CommonResponseDto.success(item);
   }
 
+  @PostMapping("/confirm-upload/batch")
+  public CommonResponseDto<List<ConfirmUploadResult>> confirmUploadBatch(
+      @RequestBody List<ConfirmUploadRequest> requests) {
+    List<ConfirmUploadResult> results = fileService.confirmUploadBatch(requests);
+    return CommonResponseDto.success(results);
+  }
+
+  @PutMapping("/{uuid}/content")
+  public CommonResponseDto<StorageItemDto> uploadContent(
+      @PathVariable String uuid,
+      @RequestParam(required = false) String fileName,
+      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+      @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+      InputStream content) {
+    long size = contentLength != null ? contentLength : -1;
+    StorageItemDto item = fileService.uploadContent(uuid, fileName, contentType, size, content);
+    return CommonResponseDto.success(item);
+  }
+
   @GetMapping("/{id}")
   public CommonResponseDto<StorageItemDto> getFileMetadata(
       @PathVariable String id,
@@ -58,6 +126,60 @@ public class FileController {
     return CommonResponseDto.success(response);
   }
 
+  /**
+   * 파일 내용을 서버를 거쳐 스트리밍합니다. 단일 구간 Range 요청과 If-None-Match / If-Modified-Since
+   * 조건부 요청을 지원하며, Range 요청은 해당 구간만 MinIO에서 읽습니다.
+   */
+  @GetMapping("/{uuid}/content")
+  public ResponseEntity<StreamingResponseBody> downloadContent(
+      @PathVariable String uuid,
+      @RequestHeader HttpHeaders requestHeaders) {
+    FileContentInfo info = fileService.getContentInfo(uuid);
+    String eTag = "\"" + info.eTag() + "\"";
+    long size = info.size();
+
+    if (isNotModified(requestHeaders, eTag, info.lastModified())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(eTag)
+          .lastModified(info.lastModified())
+          .build();
+    }
+
+    HttpHeaders responseHeaders = new HttpHeaders();
+    responseHeaders.setETag(eTag);
+    responseHeaders.setLastModified(info.lastModified());
+    responseHeaders.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+    responseHeaders.set(HttpHeaders.CONTENT_TYPE,
+        info.contentType() != null ? info.contentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    if (info.fileName() != null) {
+      responseHeaders.setContentDisposition(
+          ContentDisposition.attachment().filename(info.fileName(), StandardCharsets.UTF_8).build());
+    }
+
+    HttpRange range = resolveRange(requestHeaders, eTag, info.lastModified());
+    if (range == null) {
+      responseHeaders.setContentLength(size);
+      return new ResponseEntity<>(fileService.streamContent(uuid, size), responseHeaders, HttpStatus.OK);
+    }
+
+    long start;
+    long end;
+    try {
+      start = range.getRangeStart(size);
+      end = range.getRangeEnd(size);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+          .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+          .build();
+    }
+
+    long length = end - start + 1;
+    responseHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+    responseHeaders.setContentLength(length);
+    return new ResponseEntity<>(fileService.streamContent(uuid, start, length), responseHeaders,
+        HttpStatus.PARTIAL_CONTENT);
+  }
+
   @GetMapping("/{id}/chunks")
   public CommonResponseDto<List<ChunkDto>> getChunks(
       @PathVariable String id,
@@ -80,4 +202,50 @@ public class FileController {
     fileService.deleteFiles(uuids);
     return CommonResponseDto.success(null);
   }
+
+  /**
+   * If-None-Match가 있으면 ETag(약한 비교)로, 없으면 If-Modified-Since로 판단합니다.
+   */
+  private static boolean isNotModified(HttpHeaders requestHeaders, String eTag, Instant lastModified) {
+    List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+    if (!ifNoneMatch.isEmpty()) {
+      return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || stripWeak(tag).equals(eTag));
+    }
+    long ifModifiedSince = requestHeaders.getIfModifiedSince();
+    return ifModifiedSince != -1 && lastModified.getEpochSecond() <= ifModifiedSince / 1000;
+  }
+
+  /**
+   * 적용할 단일 Range를 반환합니다. Range가 없거나, 여러 구간이거나, 형식이 잘못되었거나,
+   * If-Range가 현재 객체와 맞지 않으면 null(전체 응답)입니다.
+   */
+  private static HttpRange resolveRange(HttpHeaders requestHeaders, String eTag, Instant lastModified) {
+    List<HttpRange> ranges;
+    try {
+      ranges = requestHeaders.getRange();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    if (ranges.size() != 1) {
+      return null;
+    }
+
+    String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+    if (ifRange != null) {
+      if (ifRange.startsWith("\"")) {
+        return ifRange.equals(eTag) ? ranges.get(0) : null;
+      }
+      try {
+        long ifRangeDate = requestHeaders.getFirstDate(HttpHeaders.IF_RANGE);
+        return lastModified.getEpochSecond() == ifRangeDate / 1000 ? ranges.get(0) : null;
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+    }
+    return ranges.get(0);
+  }
+
+  private static String stripWeak(String tag) {
+    return tag.startsWith("W/") ? tag.substring(2) : tag;
+  }
 }
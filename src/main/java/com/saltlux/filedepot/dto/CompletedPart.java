@@ -0,0 +1,4 @@
+package com.saltlux.filedepot.dto;
+
+public record CompletedPart(int partNumber, String etag) {
+}
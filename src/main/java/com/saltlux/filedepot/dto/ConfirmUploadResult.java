@@ -0,0 +1,14 @@
+package com.saltlux.filedepot.dto;
+
+import me.hanju.filedepot.api.dto.StorageItemDto;
+
+public record ConfirmUploadResult(String id, boolean success, StorageItemDto item, String error) {
+
+  public static ConfirmUploadResult success(StorageItemDto item) {
+    return new ConfirmUploadResult(item.id(), true, item, null);
+  }
+
+  public static ConfirmUploadResult failure(String id, String error) {
+    return new ConfirmUploadResult(id, false, null, error);
+  }
+}
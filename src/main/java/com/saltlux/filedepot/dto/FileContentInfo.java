@@ -0,0 +1,11 @@
+package com.saltlux.filedepot.dto;
+
+import java.time.Instant;
+
+/**
+ * 프록시 다운로드 응답 헤더를 만들기 위한 객체 메타데이터
+ *
+ * @param eTag MinIO ETag (따옴표 제외)
+ */
+public record FileContentInfo(String fileName, String contentType, long size, String eTag, Instant lastModified) {
+}
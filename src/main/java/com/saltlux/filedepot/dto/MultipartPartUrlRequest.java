@@ -0,0 +1,6 @@
+package com.saltlux.filedepot.dto;
+
+import java.util.List;
+
+public record MultipartPartUrlRequest(String id, String uploadId, List<Integer> partNumbers) {
+}
@@ -0,0 +1,4 @@
+package com.saltlux.filedepot.dto;
+
+public record MultipartUploadInitiateRequest(String contentType) {
+}
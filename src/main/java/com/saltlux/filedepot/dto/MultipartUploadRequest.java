@@ -0,0 +1,13 @@
+package com.saltlux.filedepot.dto;
+
+import java.util.List;
+
+/**
+ * @param parts 완료 시 클라이언트가 업로드한 파트 목록 (파트 번호 1..N, 각 PUT 응답의 ETag). 취소 시에는 사용하지 않습니다.
+ */
+public record MultipartUploadRequest(String id, String uploadId, List<CompletedPart> parts) {
+
+  public MultipartUploadRequest(String id, String uploadId) {
+    this(id, uploadId, null);
+  }
+}
@@ -0,0 +1,56 @@
+package com.saltlux.filedepot.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이미지 내용 해시와 VLM 모델별 OCR 결과
+ */
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "ocr_result", uniqueConstraints = {
+    @UniqueConstraint(name = "UK_ocr_result_hash_model", columnNames = { "image_hash", "model" })
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OcrResult {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "image_hash", nullable = false, length = 64)
+  private String imageHash;
+
+  @Column(nullable = false)
+  private String model;
+
+  @Lob
+  @Column(columnDefinition = "LONGTEXT")
+  private String content;
+
+  @CreatedDate
+  @Column(nullable = false)
+  private Instant createdAt;
+
+  public OcrResult(String imageHash, String model, String content) {
+    this.imageHash = imageHash;
+    this.model = model;
+    this.content = content;
+  }
+}
@@ -0,0 +1,56 @@
+package com.saltlux.filedepot.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Scenario2 페이지별 OCR 체크포인트. 추출이 끝나면 삭제됩니다.
+ */
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "page_ocr_result", uniqueConstraints = {
+    @UniqueConstraint(name = "UK_page_ocr_result_uuid_page", columnNames = { "uuid", "page_number" })
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PageOcrResult {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 36)
+  private String uuid;
+
+  @Column(name = "page_number", nullable = false)
+  private Integer pageNumber;
+
+  @Lob
+  @Column(columnDefinition = "LONGTEXT")
+  private String content;
+
+  @CreatedDate
+  @Column(nullable = false)
+  private Instant createdAt;
+
+  public PageOcrResult(String uuid, Integer pageNumber, String content) {
+    this.uuid = uuid;
+    this.pageNumber = pageNumber;
+    this.content = content;
+  }
+}
@@ -42,7 +42,8 @@ import lombok.ToString;
     @UniqueConstraint(name = "UK_storage_item_uuid", columnNames = "uuid")
 }, indexes = {
     @Index(name = "IDX_storage_item_processing_step", columnList = "processing_step"),
-    @Index(name = "IDX_storage_item_deleted", columnList = "deleted")
+    @Index(name = "IDX_storage_item_deleted", columnList = "deleted"),
+    @Index(name = "IDX_storage_item_content_hash", columnList = "content_hash")
 })
 @DynamicInsert
 @DynamicUpdate
@@ -87,10 +88,17 @@ public class StorageItem {
   @Column(name = "file_name", length = 255)
   private String fileName;
 
+  @Column(name = "content_hash", length = 64)
+  private String contentHash;
+
   public void markAsDeleted() {
     this.deleted = true;
   }
 
+  public void updateFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
   public void updateStep(ProcessingStep step) {
     this.processingStep = step;
   }
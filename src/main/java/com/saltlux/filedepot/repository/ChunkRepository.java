@@ -8,7 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.saltlux.filedepot.entity.Chunk;
 
-public interface ChunkRepository extends JpaRepository<Chunk, Long> {
+public interface ChunkRepository extends JpaRepository<Chunk, Long>, ChunkRepositoryCustom {
 
   List<Chunk> findByUuidOrderByChunkIndexAsc(String uuid);
 
@@ -0,0 +1,38 @@
+package com.saltlux.filedepot.repository;
+
+import java.util.List;
+
+import com.saltlux.filedepot.entity.Chunk;
+
+public interface ChunkRepositoryCustom {
+
+  /**
+   * Inserts all chunks with JDBC batches of {@code file-depot.processing.write-batch-size}.
+   * {@code Chunk} uses IDENTITY ids, which disables Hibernate insert batching, so this bypasses
+   * the persistence context. Generated ids are not written back to the given chunks.
+   */
+  void insertAll(List<Chunk> chunks);
+
+  /**
+   * Writes the embedding of each chunk (matched by id) with JDBC batches instead of one
+   * merge per chunk. The chunks must have been loaded from the database.
+   */
+  void updateEmbeddings(List<Chunk> chunks);
+
+  /**
+   * Returns up to {@code limit} non-null embeddings with {@code id > afterId}, ordered by id,
+   * whose blob does not start with {@code prefix}. Used to find embeddings stored in another format.
+   */
+  List<EmbeddingRow> findEmbeddingsWithoutPrefix(byte[] prefix, long afterId, int limit);
+
+  /**
+   * Rewrites the given embeddings unless the stored blob already starts with {@code prefix},
+   * so a chunk re-embedded in the meantime is not overwritten with an older vector.
+   *
+   * @return number of rows updated
+   */
+  int replaceEmbeddings(List<EmbeddingRow> rows, byte[] prefix);
+
+  record EmbeddingRow(long id, byte[] embedding) {
+  }
+}
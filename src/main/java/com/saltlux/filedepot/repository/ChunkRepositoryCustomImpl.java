@@ -0,0 +1,109 @@
+package com.saltlux.filedepot.repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.entity.Chunk;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ChunkRepositoryCustomImpl implements ChunkRepositoryCustom {
+
+  private static final String INSERT_SQL = """
+      INSERT INTO chunk (uuid, chunk_index, content, embedding, created_at, updated_at)
+      VALUES (?, ?, ?, ?, ?, ?)""";
+
+  private static final String UPDATE_EMBEDDING_SQL = """
+      UPDATE chunk SET embedding = ?, updated_at = ? WHERE id = ?""";
+
+  private static final String SELECT_EMBEDDINGS_WITHOUT_PREFIX_SQL = """
+      SELECT id, embedding FROM chunk
+      WHERE id > ? AND embedding IS NOT NULL AND LEFT(embedding, ?) <> ?
+      ORDER BY id
+      LIMIT ?""";
+
+  private static final String REPLACE_EMBEDDING_SQL = """
+      UPDATE chunk SET embedding = ? WHERE id = ? AND LEFT(embedding, ?) <> ?""";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final FileDepotProperties properties;
+
+  @Override
+  @Transactional
+  public void insertAll(List<Chunk> chunks) {
+    if (chunks.isEmpty()) {
+      return;
+    }
+
+    Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    Timestamp now = Timestamp.from(Instant.now());
+    jdbcTemplate.batchUpdate(INSERT_SQL, chunks, batchSize(), (ps, chunk) -> {
+      ps.setString(1, chunk.getUuid());
+      ps.setInt(2, chunk.getChunkIndex());
+      ps.setString(3, chunk.getContent());
+      ps.setBytes(4, chunk.getEmbedding());
+      ps.setTimestamp(5, now, utc);
+      ps.setTimestamp(6, now, utc);
+    });
+  }
+
+  @Override
+  @Transactional
+  public void updateEmbeddings(List<Chunk> chunks) {
+    if (chunks.isEmpty()) {
+      return;
+    }
+
+    Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    Timestamp now = Timestamp.from(Instant.now());
+    jdbcTemplate.batchUpdate(UPDATE_EMBEDDING_SQL, chunks, batchSize(), (ps, chunk) -> {
+      ps.setBytes(1, chunk.getEmbedding());
+      ps.setTimestamp(2, now, utc);
+      ps.setLong(3, chunk.getId());
+    });
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<EmbeddingRow> findEmbeddingsWithoutPrefix(byte[] prefix, long afterId, int limit) {
+    return jdbcTemplate.query(SELECT_EMBEDDINGS_WITHOUT_PREFIX_SQL,
+        (rs, rowNum) -> new EmbeddingRow(rs.getLong("id"), rs.getBytes("embedding")),
+        afterId, prefix.length, prefix, limit);
+  }
+
+  @Override
+  @Transactional
+  public int replaceEmbeddings(List<EmbeddingRow> rows, byte[] prefix) {
+    if (rows.isEmpty()) {
+      return 0;
+    }
+
+    int[][] counts = jdbcTemplate.batchUpdate(REPLACE_EMBEDDING_SQL, rows, batchSize(), (ps, row) -> {
+      ps.setBytes(1, row.embedding());
+      ps.setLong(2, row.id());
+      ps.setInt(3, prefix.length);
+      ps.setBytes(4, prefix);
+    });
+    int updated = 0;
+    for (int[] batch : counts) {
+      for (int count : batch) {
+        // Statement.SUCCESS_NO_INFO (-2) when the driver sends the batch as one bulk command
+        updated += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+      }
+    }
+    return updated;
+  }
+
+  private int batchSize() {
+    return properties.getProcessing().getWriteBatchSize();
+  }
+}
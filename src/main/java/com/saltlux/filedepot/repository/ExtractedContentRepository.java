@@ -8,7 +8,8 @@ import org.springframework.stereotype.Repository;
 import com.saltlux.filedepot.entity.ExtractedContent;
 
 @Repository
-public interface ExtractedContentRepository extends JpaRepository<ExtractedContent, Long> {
+public interface ExtractedContentRepository extends JpaRepository<ExtractedContent, Long>,
+        ExtractedContentRepositoryCustom {
 
     Optional<ExtractedContent> findByStorageItemUuid(String uuid);
 
@@ -0,0 +1,13 @@
+package com.saltlux.filedepot.repository;
+
+import java.io.Reader;
+
+public interface ExtractedContentRepositoryCustom {
+
+  /**
+   * Replaces the extracted content of the given storage item with text streamed from {@code content},
+   * so a large document never has to be held as one {@code String}. Bypasses the persistence context:
+   * an {@code ExtractedContent} already loaded in the current session is not refreshed.
+   */
+  void replaceContent(long storageItemId, Reader content);
+}
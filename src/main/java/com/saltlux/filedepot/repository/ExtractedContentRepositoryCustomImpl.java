@@ -0,0 +1,30 @@
+package com.saltlux.filedepot.repository;
+
+import java.io.Reader;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ExtractedContentRepositoryCustomImpl implements ExtractedContentRepositoryCustom {
+
+  private static final String DELETE_SQL = """
+      DELETE FROM extracted_content WHERE id = ?""";
+
+  private static final String INSERT_SQL = """
+      INSERT INTO extracted_content (id, content) VALUES (?, ?)""";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional
+  public void replaceContent(long storageItemId, Reader content) {
+    jdbcTemplate.update(DELETE_SQL, storageItemId);
+    jdbcTemplate.update(INSERT_SQL, ps -> {
+      ps.setLong(1, storageItemId);
+      ps.setCharacterStream(2, content);
+    });
+  }
+}
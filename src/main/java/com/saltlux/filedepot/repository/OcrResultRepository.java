@@ -0,0 +1,12 @@
+package com.saltlux.filedepot.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.saltlux.filedepot.entity.OcrResult;
+
+public interface OcrResultRepository extends JpaRepository<OcrResult, Long> {
+
+  Optional<OcrResult> findByImageHashAndModel(String imageHash, String model);
+}
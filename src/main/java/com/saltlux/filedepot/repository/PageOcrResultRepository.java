@@ -0,0 +1,22 @@
+package com.saltlux.filedepot.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.saltlux.filedepot.entity.PageOcrResult;
+
+public interface PageOcrResultRepository extends JpaRepository<PageOcrResult, Long> {
+
+  List<PageOcrResult> findByUuid(String uuid);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Transactional
+  void deleteByUuid(String uuid);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Transactional
+  void deleteByUuidIn(List<String> uuids);
+}
@@ -1,5 +1,6 @@
 package com.saltlux.filedepot.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +14,7 @@ import com.saltlux.filedepot.entity.ProcessingStep;
 import com.saltlux.filedepot.entity.StorageItem;
 
 @Repository
-public interface StorageItemRepository extends JpaRepository<StorageItem, Long> {
+public interface StorageItemRepository extends JpaRepository<StorageItem, Long>, StorageItemRepositoryCustom {
 
     Optional<StorageItem> findByUuid(String uuid);
 
@@ -21,6 +22,11 @@ public interface StorageItemRepository extends JpaRepository<StorageItem, Long>
 
     List<StorageItem> findByUuidInAndDeletedFalse(List<String> uuids);
 
+    List<StorageItem> findByUuidIn(Collection<String> uuids);
+
+    Optional<StorageItem> findFirstByContentHashAndProcessingStepInAndDeletedFalseAndUuidNot(
+        String contentHash, List<ProcessingStep> steps, String uuid);
+
     List<StorageItem> findByProcessingStepAndDeletedFalseOrderByCreatedAtAsc(ProcessingStep step, Pageable pageable);
 
     List<StorageItem> findByProcessingStepInAndDeletedFalseOrderByCreatedAtAsc(List<ProcessingStep> steps, Pageable pageable);
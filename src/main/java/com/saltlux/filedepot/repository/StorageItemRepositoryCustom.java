@@ -0,0 +1,15 @@
+package com.saltlux.filedepot.repository;
+
+import java.util.List;
+
+import com.saltlux.filedepot.entity.StorageItem;
+
+public interface StorageItemRepositoryCustom {
+
+  /**
+   * Inserts all items with a single JDBC batch. {@code StorageItem} uses IDENTITY ids,
+   * which disables Hibernate insert batching, so this bypasses the persistence context.
+   * Generated ids are not written back to the given items.
+   */
+  void insertAll(List<StorageItem> items);
+}
@@ -0,0 +1,45 @@
+package com.saltlux.filedepot.repository;
+
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.saltlux.filedepot.entity.StorageItem;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class StorageItemRepositoryCustomImpl implements StorageItemRepositoryCustom {
+
+  private static final String INSERT_SQL = """
+      INSERT INTO storage_item (uuid, content_type, size, processing_step, created_at, deleted, retry_count, file_name,
+          content_hash)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional
+  public void insertAll(List<StorageItem> items) {
+    if (items.isEmpty()) {
+      return;
+    }
+
+    Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    jdbcTemplate.batchUpdate(INSERT_SQL, items, items.size(), (ps, item) -> {
+      ps.setString(1, item.getUuid());
+      ps.setString(2, item.getContentType());
+      ps.setLong(3, item.getSize());
+      ps.setString(4, item.getProcessingStep().name());
+      ps.setTimestamp(5, Timestamp.from(item.getCreatedAt()), utc);
+      ps.setBoolean(6, item.isDeleted());
+      ps.setInt(7, item.getRetryCount());
+      ps.setString(8, item.getFileName());
+      ps.setString(9, item.getContentHash());
+    });
+  }
+}
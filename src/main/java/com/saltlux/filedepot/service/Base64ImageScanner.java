@@ -0,0 +1,193 @@
+package com.saltlux.filedepot.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Docling 마크다운의 {@code ![Image](data:image/...;base64,...)} 구간을 한 번의 선형 탐색으로 찾고,
+ * base64를 부분 문자열 복사 없이 원본에서 재사용 버퍼로 바로 디코딩합니다.
+ * 치환 결과는 {@link Appendable}로 써서 원본 크기의 중간 사본을 만들지 않습니다.
+ * 스레드 안전하지 않습니다.
+ */
+final class Base64ImageScanner {
+
+  private static final String PREFIX = "![Image](data:image/";
+  private static final String BASE64_MARKER = ";base64,";
+  private static final int[] BASE64_VALUES = new int[128];
+
+  static {
+    Arrays.fill(BASE64_VALUES, -1);
+    String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    for (int i = 0; i < alphabet.length(); i++) {
+      BASE64_VALUES[alphabet.charAt(i)] = i;
+    }
+  }
+
+  private final CharSequence text;
+  private final List<ImageSpan> spans;
+  private byte[] buffer = new byte[0];
+
+  Base64ImageScanner(CharSequence text) {
+    this.text = text;
+    this.spans = scan(text);
+  }
+
+  List<ImageSpan> spans() {
+    return spans;
+  }
+
+  /**
+   * 이미지의 base64 데이터를 {@link #buffer()}에 디코딩합니다. 버퍼는 다음 호출에서 덮어씁니다.
+   *
+   * @return 디코딩된 바이트 수
+   * @throws IllegalArgumentException 올바른 base64가 아닌 경우
+   */
+  int decode(ImageSpan span) {
+    int length = span.dataEnd() - span.dataStart();
+    int maxBytes = (length / 4 + 1) * 3;
+    if (buffer.length < maxBytes) {
+      buffer = new byte[maxBytes];
+    }
+
+    int bits = 0;
+    int bitCount = 0;
+    int padding = 0;
+    int decoded = 0;
+    for (int i = span.dataStart(); i < span.dataEnd(); i++) {
+      char c = text.charAt(i);
+      if (c == '=') {
+        padding++;
+        continue;
+      }
+      int value = c < BASE64_VALUES.length ? BASE64_VALUES[c] : -1;
+      if (value < 0 || padding > 0) {
+        throw new IllegalArgumentException("Illegal base64 character " + Integer.toHexString(c) + " at " + i);
+      }
+      bits = (bits << 6) | value;
+      bitCount += 6;
+      if (bitCount >= 8) {
+        bitCount -= 8;
+        buffer[decoded++] = (byte) (bits >> bitCount);
+        bits &= (1 << bitCount) - 1;
+      }
+    }
+    int remainder = (length - padding) % 4;
+    boolean valid = padding == 0 ? remainder != 1 : remainder + padding == 4 && padding <= 2;
+    if (!valid) {
+      throw new IllegalArgumentException("Invalid base64 length: " + length);
+    }
+    return decoded;
+  }
+
+  byte[] buffer() {
+    return buffer;
+  }
+
+  /**
+   * 이미지 구간을 치환해 씁니다. 치환값이 null인 이미지는 원문을 유지합니다.
+   *
+   * @param replacements {@link #spans()}와 같은 순서의 치환 텍스트
+   */
+  void writeTo(List<String> replacements, Appendable out) throws IOException {
+    int last = 0;
+    for (int i = 0; i < spans.size(); i++) {
+      ImageSpan span = spans.get(i);
+      String replacement = replacements.get(i);
+      if (replacement == null) {
+        continue;
+      }
+      out.append(text, last, span.start());
+      out.append(replacement);
+      last = span.end();
+    }
+    out.append(text, last, text.length());
+  }
+
+  /**
+   * {@link #writeTo}가 쓸 글자 수.
+   */
+  long outputLength(List<String> replacements) {
+    long length = text.length();
+    for (int i = 0; i < spans.size(); i++) {
+      String replacement = replacements.get(i);
+      if (replacement != null) {
+        length += replacement.length() - (spans.get(i).end() - spans.get(i).start());
+      }
+    }
+    return length;
+  }
+
+  private static List<ImageSpan> scan(CharSequence text) {
+    List<ImageSpan> spans = new ArrayList<>();
+    int from = 0;
+    int start;
+    while ((start = indexOf(text, PREFIX, from)) >= 0) {
+      ImageSpan span = matchAt(text, start);
+      if (span == null) {
+        from = start + 1;
+      } else {
+        spans.add(span);
+        from = span.end();
+      }
+    }
+    return spans;
+  }
+
+  /**
+   * {@code start}에서 시작하는 {@code ![Image](data:image/<type>;base64,<data>)}를 확인합니다.
+   * type은 {@code ;}가 아닌 한 글자 이상, data는 {@code )}가 아닌 한 글자 이상입니다.
+   */
+  private static ImageSpan matchAt(CharSequence text, int start) {
+    int typeStart = start + PREFIX.length();
+    int typeEnd = typeStart;
+    while (typeEnd < text.length() && text.charAt(typeEnd) != ';') {
+      typeEnd++;
+    }
+    if (typeEnd == typeStart || !regionMatches(text, typeEnd, BASE64_MARKER)) {
+      return null;
+    }
+
+    int dataStart = typeEnd + BASE64_MARKER.length();
+    int dataEnd = dataStart;
+    while (dataEnd < text.length() && text.charAt(dataEnd) != ')') {
+      dataEnd++;
+    }
+    if (dataEnd == dataStart || dataEnd == text.length()) {
+      return null;
+    }
+    return new ImageSpan(start, dataEnd + 1, dataStart, dataEnd);
+  }
+
+  private static int indexOf(CharSequence text, String target, int from) {
+    if (text instanceof String string) {
+      return string.indexOf(target, from);
+    }
+    char first = target.charAt(0);
+    for (int i = from; i <= text.length() - target.length(); i++) {
+      if (text.charAt(i) == first && regionMatches(text, i, target)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean regionMatches(CharSequence text, int offset, String target) {
+    if (offset + target.length() > text.length()) {
+      return false;
+    }
+    for (int i = 0; i < target.length(); i++) {
+      if (text.charAt(offset + i) != target.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 이미지 마크다운 전체 구간 [start, end)와 base64 데이터 구간 [dataStart, dataEnd).
+   */
+  record ImageSpan(int start, int end, int dataStart, int dataEnd) {
+  }
+}
@@ -13,6 +13,9 @@ import com.saltlux.filedepot.config.FileDepotProperties.EmbedKitProvider;
 import com.saltlux.filedepot.config.FileDepotProperties.ParsekitScenario;
 import com.saltlux.filedepot.entity.ProcessingStep;
 import com.saltlux.filedepot.entity.StorageItem;
+import com.saltlux.filedepot.repository.ChunkRepository;
+import com.saltlux.filedepot.repository.ChunkRepositoryCustom.EmbeddingRow;
+import com.saltlux.filedepot.repository.PageOcrResultRepository;
 import com.saltlux.filedepot.repository.StorageItemRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -25,9 +28,15 @@ import lombok.extern.slf4j.Slf4j;
 public class BatchScheduler {
 
   private final StorageItemRepository storageItemRepository;
+  private final PageOcrResultRepository pageOcrResultRepository;
+  private final ChunkRepository chunkRepository;
   private final ProcessingService processingService;
   private final StorageClient storageClient;
+  private final DerivedArtifactStore derivedArtifactStore;
   private final FileDepotProperties properties;
+  private final EmbeddingCodec embeddingCodec;
+
+  private long embeddingMigrationCursor;
 
   /**
    * Retry recovery job: Reprocesses files stuck in intermediate states.
@@ -66,8 +75,12 @@ public class BatchScheduler {
     int processed = 0;
     for (StorageItem item : items) {
       try {
-        processingService.extract(item.getUuid());
+        if (!processingService.reuseDuplicate(item.getUuid())) {
+          processingService.extract(item.getUuid());
+        }
         processed++;
+      } catch (ClientUnavailableException e) {
+        log.warn("Skipping extraction retry: uuid={}, {}", item.getUuid(), e.getMessage());
       } catch (Exception e) {
         log.error("Retry extraction failed: uuid={}", item.getUuid(), e);
       }
@@ -84,6 +97,8 @@ public class BatchScheduler {
       try {
         processingService.chunk(item.getUuid());
         processed++;
+      } catch (ClientUnavailableException e) {
+        log.warn("Skipping chunking retry: uuid={}, {}", item.getUuid(), e.getMessage());
       } catch (Exception e) {
         log.error("Retry chunking failed: uuid={}", item.getUuid(), e);
       }
@@ -100,6 +115,8 @@ public class BatchScheduler {
       try {
         processingService.embed(item.getUuid());
         processed++;
+      } catch (ClientUnavailableException e) {
+        log.warn("Skipping embedding retry: uuid={}, {}", item.getUuid(), e.getMessage());
       } catch (Exception e) {
         log.error("Retry embedding failed: uuid={}", item.getUuid(), e);
       }
@@ -125,6 +142,7 @@ public class BatchScheduler {
     for (StorageItem item : orphanedItems) {
       try {
         storageClient.removeObject(item.getUuid());
+        derivedArtifactStore.deleteAll(item.getUuid());
         cleanedUuids.add(item.getUuid());
         log.debug("Cleaned up orphaned file: {}", item.getUuid());
       } catch (Exception e) {
@@ -133,11 +151,56 @@ public class BatchScheduler {
     }
 
     if (!cleanedUuids.isEmpty()) {
+      pageOcrResultRepository.deleteByUuidIn(cleanedUuids);
       storageItemRepository.deleteByUuidIn(cleanedUuids);
       log.info("Orphan cleanup completed: {} files removed", cleanedUuids.size());
     }
   }
 
+  /**
+   * Embedding format migration job: Re-encodes stored embeddings into the configured storage format.
+   * Disabled by default; each run converts up to embedding-migration-rows-per-run rows and the next run
+   * continues after the last converted id.
+   */
+  @Scheduled(cron = "${file-depot.processing.batch.embedding-migration-cron:-}")
+  public void migrateEmbeddings() {
+    byte[] prefix = embeddingCodec.headerPrefix();
+    int pageSize = properties.getProcessing().getWriteBatchSize();
+    int rowsPerRun = properties.getProcessing().getBatch().getEmbeddingMigrationRowsPerRun();
+
+    int scanned = 0;
+    int converted = 0;
+    int skipped = 0;
+    while (scanned < rowsPerRun) {
+      List<EmbeddingRow> rows = chunkRepository.findEmbeddingsWithoutPrefix(prefix, embeddingMigrationCursor,
+          Math.min(pageSize, rowsPerRun - scanned));
+      if (rows.isEmpty()) {
+        embeddingMigrationCursor = 0;
+        break;
+      }
+
+      List<EmbeddingRow> reencoded = new ArrayList<>(rows.size());
+      for (EmbeddingRow row : rows) {
+        try {
+          reencoded.add(new EmbeddingRow(row.id(), embeddingCodec.reencode(row.embedding())));
+        } catch (IllegalArgumentException e) {
+          log.warn("Skipping unreadable embedding: chunkId={}: {}", row.id(), e.getMessage());
+          skipped++;
+        }
+      }
+      converted += chunkRepository.replaceEmbeddings(reencoded, prefix);
+      scanned += rows.size();
+      embeddingMigrationCursor = rows.get(rows.size() - 1).id();
+    }
+
+    if (converted > 0 || skipped > 0) {
+      log.info("Embedding migration to {}: {} converted, {} skipped",
+          embeddingCodec.format().getValue(), converted, skipped);
+    } else {
+      log.debug("No embeddings need migration");
+    }
+  }
+
   public BatchStatistics getStatistics() {
     long pending = storageItemRepository.countByProcessingStepAndDeletedFalse(ProcessingStep.PENDING);
     long processing = storageItemRepository.countByProcessingStepAndDeletedFalse(ProcessingStep.PROCESSING);
@@ -0,0 +1,134 @@
+package com.saltlux.filedepot.service;
+
+import java.util.regex.Pattern;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.saltlux.filedepot.config.FileDepotProperties;
+
+import io.minio.CloseableIterator;
+import io.minio.ListenBucketNotificationArgs;
+import io.minio.MinioClient;
+import io.minio.Result;
+import io.minio.messages.Event;
+import io.minio.messages.NotificationRecords;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.hanju.filedepot.api.dto.ConfirmUploadRequest;
+
+/**
+ * MinIO 버킷 알림을 구독하여 업로드된 객체를 자동으로 확인(confirm)합니다.
+ * 확인 경로는 {@link FileService#confirmUpload}와 같아 명시적 confirm-upload 호출과 중복되어도 안전합니다.
+ * UUID 형식의 객체 키만 대상으로 하며, 연결이 끊기면 일정 시간 후 다시 구독합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "file-depot.upload.notification.enabled", havingValue = "true")
+public class BucketNotificationListener implements SmartLifecycle {
+
+  private static final String[] EVENTS = { "s3:ObjectCreated:*" };
+  private static final Pattern UUID_PATTERN = Pattern
+      .compile("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
+  private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+  private final MinioClient minioClient;
+  private final FileService fileService;
+  private final FileDepotProperties properties;
+
+  private volatile boolean running;
+  private volatile CloseableIterator<Result<NotificationRecords>> notifications;
+  private Thread listenerThread;
+
+  @Override
+  public void start() {
+    running = true;
+    listenerThread = Thread.ofPlatform()
+        .name("bucket-notification")
+        .daemon()
+        .start(this::listen);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    closeNotifications();
+    if (listenerThread != null) {
+      listenerThread.interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void listen() {
+    String bucket = properties.getMinio().getBucket();
+
+    while (running) {
+      try {
+        CloseableIterator<Result<NotificationRecords>> events = minioClient.listenBucketNotification(
+            ListenBucketNotificationArgs.builder()
+                .bucket(bucket)
+                .prefix("")
+                .suffix("")
+                .events(EVENTS)
+                .build());
+        notifications = events;
+        log.info("Listening for bucket notifications: bucket={}", bucket);
+
+        while (running && events.hasNext()) {
+          NotificationRecords records = events.next().get();
+          for (Event event : records.events()) {
+            handle(event);
+          }
+        }
+      } catch (Exception e) {
+        if (running) {
+          log.warn("Bucket notification stream failed, reconnecting in {}ms: {}", RECONNECT_DELAY_MILLIS,
+              e.getMessage());
+          sleepBeforeReconnect();
+        }
+      } finally {
+        closeNotifications();
+      }
+    }
+  }
+
+  private void handle(Event event) {
+    String objectName = event.objectName();
+    if (objectName == null || !UUID_PATTERN.matcher(objectName).matches()) {
+      return;
+    }
+
+    try {
+      fileService.confirmUpload(new ConfirmUploadRequest(objectName, null));
+    } catch (Exception e) {
+      log.warn("Failed to auto-confirm upload: id={}", objectName, e);
+    }
+  }
+
+  private void closeNotifications() {
+    CloseableIterator<Result<NotificationRecords>> current = notifications;
+    notifications = null;
+    if (current != null) {
+      try {
+        current.close();
+      } catch (Exception e) {
+        log.debug("Failed to close bucket notification stream", e);
+      }
+    }
+  }
+
+  private void sleepBeforeReconnect() {
+    try {
+      Thread.sleep(RECONNECT_DELAY_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+}
@@ -0,0 +1,212 @@
+package com.saltlux.filedepot.service;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.saltlux.filedepot.config.FileDepotProperties.GuardProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 하위 클라이언트 하나에 대한 동시 요청 한도(bulkhead), 호출 기한, 서킷 브레이커.
+ *
+ * <ul>
+ * <li>동시 요청은 {@code max-concurrency}개로 제한하며, {@code acquire-timeout-millis} 안에 자리가 나지 않으면
+ * 바로 거절합니다. 호출 기한만큼 기다리면 멈춘 클라이언트 하나가 처리 스레드를 모두 붙잡아
+ * 다른 클라이언트만 쓰는 문서까지 멈추기 때문입니다.</li>
+ * <li>호출은 가상 스레드에서 실행하고 {@code timeout-seconds}가 지나면 중단(interrupt)합니다.
+ * 기한 초과는 일반 실패로 처리되어 재시도 횟수에 포함됩니다.</li>
+ * <li>연속 {@code failure-threshold}번 실패하면 {@code open-seconds} 동안 호출 없이 거절하고,
+ * 이후 한 건을 시험 호출해 성공하면 닫습니다. 4xx 응답과 잘못된 인자는 실패로 세지 않습니다.</li>
+ * </ul>
+ *
+ * 거절은 {@link ClientUnavailableException}으로 알립니다.
+ */
+@Slf4j
+public class ClientGuard {
+
+  private enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final String name;
+  private final Semaphore permits;
+  private final int timeoutSeconds;
+  private final long acquireTimeoutMillis;
+  private final int failureThreshold;
+  private final long openMillis;
+  private final ExecutorService callExecutor;
+  private final Counter successes;
+  private final Counter failures;
+  private final Counter timeouts;
+  private final Counter rejections;
+
+  private volatile State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+  private boolean trialInFlight;
+
+  ClientGuard(String name, GuardProperties guard, int failureThreshold, int openSeconds,
+      ExecutorService callExecutor, MeterRegistry meterRegistry) {
+    this.name = name;
+    this.permits = new Semaphore(guard.getMaxConcurrency());
+    this.timeoutSeconds = guard.getTimeoutSeconds();
+    this.acquireTimeoutMillis = guard.getAcquireTimeoutMillis();
+    this.failureThreshold = failureThreshold;
+    this.openMillis = TimeUnit.SECONDS.toMillis(openSeconds);
+    this.callExecutor = callExecutor;
+    this.successes = callCounter(meterRegistry, "success");
+    this.failures = callCounter(meterRegistry, "failure");
+    this.timeouts = callCounter(meterRegistry, "timeout");
+    this.rejections = callCounter(meterRegistry, "rejected");
+    Gauge.builder("filedepot.client.circuit.state", this, g -> g.state.ordinal())
+        .description("0 = closed, 1 = open, 2 = half-open")
+        .tag("client", name)
+        .register(meterRegistry);
+    Gauge.builder("filedepot.client.inflight", permits,
+        p -> guard.getMaxConcurrency() - p.availablePermits())
+        .tag("client", name)
+        .register(meterRegistry);
+  }
+
+  public <T> T call(Supplier<T> call) {
+    boolean trial = enter();
+    try {
+      if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        rejections.increment();
+        throw new ClientUnavailableException(name, "no free slot within " + acquireTimeoutMillis + "ms");
+      }
+    } catch (InterruptedException e) {
+      abandonTrial(trial);
+      Thread.currentThread().interrupt();
+      throw new ClientUnavailableException(name, "interrupted while waiting for a slot");
+    } catch (RuntimeException e) {
+      abandonTrial(trial);
+      throw e;
+    }
+
+    // 기한이 지나 중단을 요청해도 호출이 실제로 끝날 때까지 자리를 차지하도록, 자리는 호출을 실행한 스레드가 반환합니다.
+    Future<T> future;
+    try {
+      future = callExecutor.submit(() -> {
+        try {
+          return call.get();
+        } finally {
+          permits.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      abandonTrial(trial);
+      throw new ClientUnavailableException(name, "shutting down");
+    }
+
+    try {
+      T result = future.get(timeoutSeconds, TimeUnit.SECONDS);
+      successes.increment();
+      onSuccess();
+      return result;
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      timeouts.increment();
+      onFailure();
+      throw new IllegalStateException(name + " call timed out after " + timeoutSeconds + "s", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (isCallerError(cause)) {
+        successes.increment();
+        onSuccess();
+      } else {
+        failures.increment();
+        onFailure();
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(name + " call failed", cause);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      abandonTrial(trial);
+      Thread.currentThread().interrupt();
+      throw new ClientUnavailableException(name, "interrupted");
+    }
+  }
+
+  /**
+   * 서킷 상태를 확인합니다. 열려 있으면 거절하고, 반쯤 열린 상태면 한 건만 시험 호출로 통과시킵니다.
+   *
+   * @return 시험 호출이면 true
+   */
+  private synchronized boolean enter() {
+    if (state == State.OPEN) {
+      if (System.currentTimeMillis() - openedAt < openMillis) {
+        rejections.increment();
+        throw new ClientUnavailableException(name, "circuit open");
+      }
+      state = State.HALF_OPEN;
+      trialInFlight = false;
+    }
+    if (state == State.HALF_OPEN) {
+      if (trialInFlight) {
+        rejections.increment();
+        throw new ClientUnavailableException(name, "circuit half-open, trial call in flight");
+      }
+      trialInFlight = true;
+      return true;
+    }
+    return false;
+  }
+
+  private synchronized void abandonTrial(boolean trial) {
+    if (trial) {
+      trialInFlight = false;
+    }
+  }
+
+  private synchronized void onSuccess() {
+    consecutiveFailures = 0;
+    if (state != State.CLOSED) {
+      log.info("Circuit closed: {}", name);
+    }
+    state = State.CLOSED;
+    trialInFlight = false;
+  }
+
+  private synchronized void onFailure() {
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+      log.warn("Circuit opened: {} ({} consecutive failures, retry in {}ms)", name, consecutiveFailures, openMillis);
+      state = State.OPEN;
+      openedAt = System.currentTimeMillis();
+      trialInFlight = false;
+    }
+  }
+
+  private static boolean isCallerError(Throwable cause) {
+    if (cause instanceof WebClientResponseException response) {
+      return response.getStatusCode().is4xxClientError();
+    }
+    return cause instanceof IllegalArgumentException;
+  }
+
+  private Counter callCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("filedepot.client.calls")
+        .tag("client", name)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,60 @@
+package com.saltlux.filedepot.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.stereotype.Component;
+
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.config.FileDepotProperties.Processing.ClientGuardProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Converter, Docling, VLM, 임베딩 클라이언트별 {@link ClientGuard}.
+ * 한 백엔드가 느려지거나 멈춰도 다른 클라이언트만 쓰는 문서의 처리는 계속됩니다.
+ */
+@Component
+public class ClientGuards {
+
+  private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private final ClientGuard converter;
+  private final ClientGuard docling;
+  private final ClientGuard vlm;
+  private final ClientGuard embedding;
+
+  public ClientGuards(FileDepotProperties properties, MeterRegistry meterRegistry) {
+    ClientGuardProperties guards = properties.getProcessing().getClientGuard();
+    int threshold = guards.getFailureThreshold();
+    int openSeconds = guards.getOpenSeconds();
+    this.converter = new ClientGuard("converter", guards.getConverter(), threshold, openSeconds, callExecutor,
+        meterRegistry);
+    this.docling = new ClientGuard("docling", guards.getDocling(), threshold, openSeconds, callExecutor,
+        meterRegistry);
+    this.vlm = new ClientGuard("vlm", guards.getVlm(), threshold, openSeconds, callExecutor, meterRegistry);
+    this.embedding = new ClientGuard("embedding", guards.getEmbedding(), threshold, openSeconds, callExecutor,
+        meterRegistry);
+  }
+
+  public ClientGuard converter() {
+    return converter;
+  }
+
+  public ClientGuard docling() {
+    return docling;
+  }
+
+  public ClientGuard vlm() {
+    return vlm;
+  }
+
+  public ClientGuard embedding() {
+    return embedding;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    callExecutor.shutdownNow();
+  }
+}
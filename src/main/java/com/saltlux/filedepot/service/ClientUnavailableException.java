@@ -0,0 +1,19 @@
+package com.saltlux.filedepot.service;
+
+/**
+ * 하위 서비스 호출을 보내지 않고 거절했을 때 발생합니다 (서킷 열림, 동시 요청 한도 초과).
+ * 문서 자체의 문제가 아니므로 재시도 횟수를 올리지 않고 이전 단계로 되돌려 둡니다.
+ */
+public class ClientUnavailableException extends RuntimeException {
+
+  private final String client;
+
+  public ClientUnavailableException(String client, String reason) {
+    super(client + " unavailable: " + reason);
+    this.client = client;
+  }
+
+  public String getClient() {
+    return client;
+  }
+}
@@ -0,0 +1,150 @@
+package com.saltlux.filedepot.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.saltlux.filedepot.config.FileDepotProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 변환기 결과(PDF, 페이지 이미지)를 MinIO의 {@code derived/{uuid}/} 아래에 보관합니다.
+ * Docling이나 VLM 단계가 실패해 재시도할 때 변환을 다시 하지 않도록 재사용하며,
+ * 파일 삭제 시 함께 삭제됩니다.
+ *
+ * <ul>
+ * <li>{@code derived/{uuid}/converted.pdf}</li>
+ * <li>{@code derived/{uuid}/pages-{dpi}/{page}.png}, 모든 페이지 저장 후 {@code pages-{dpi}/complete}</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DerivedArtifactStore {
+
+  private static final String PREFIX = "derived/";
+  private static final String COMPLETE_MARKER = "complete";
+
+  private final StorageClient storageClient;
+  private final FileDepotProperties properties;
+
+  @Qualifier("storageExecutor")
+  private final Executor storageExecutor;
+
+  public Optional<byte[]> findConvertedPdf(String uuid) {
+    if (!isEnabled()) {
+      return Optional.empty();
+    }
+    String objectName = convertedPdfKey(uuid);
+    try {
+      if (!storageClient.objectExists(objectName)) {
+        return Optional.empty();
+      }
+      byte[] pdf = storageClient.getObjectBytes(objectName);
+      log.info("Reusing converted PDF: {}", uuid);
+      return Optional.of(pdf);
+    } catch (RuntimeException e) {
+      log.warn("Failed to read converted PDF, converting again: {}", uuid, e);
+      return Optional.empty();
+    }
+  }
+
+  public void saveConvertedPdf(String uuid, byte[] pdf) {
+    if (!isEnabled()) {
+      return;
+    }
+    try {
+      storageClient.putObject(convertedPdfKey(uuid), pdf, "application/pdf");
+    } catch (RuntimeException e) {
+      log.warn("Failed to store converted PDF: {}", uuid, e);
+    }
+  }
+
+  /**
+   * 완료 표시가 있는 경우에만 페이지 이미지를 페이지 순서대로 반환합니다.
+   */
+  public Optional<List<PageImage>> findPageImages(String uuid, int dpi) {
+    if (!isEnabled()) {
+      return Optional.empty();
+    }
+    String marker = pagesPrefix(uuid, dpi) + COMPLETE_MARKER;
+    try {
+      if (!storageClient.objectExists(marker)) {
+        return Optional.empty();
+      }
+      String pageList = new String(storageClient.getObjectBytes(marker), StandardCharsets.UTF_8).strip();
+      List<Integer> pageNumbers = pageList.isEmpty() ? List.of()
+          : Arrays.stream(pageList.split(",")).map(Integer::valueOf).toList();
+
+      List<CompletableFuture<PageImage>> futures = pageNumbers.stream()
+          .map(page -> CompletableFuture.supplyAsync(
+              () -> new PageImage(page, storageClient.getObjectBytes(pageKey(uuid, dpi, page))), storageExecutor))
+          .toList();
+      List<PageImage> pages = futures.stream().map(CompletableFuture::join).toList();
+
+      log.info("Reusing {} page images: {} (dpi={})", pages.size(), uuid, dpi);
+      return Optional.of(pages);
+    } catch (RuntimeException e) {
+      log.warn("Failed to read page images, converting again: {}", uuid, e);
+      return Optional.empty();
+    }
+  }
+
+  public void savePageImages(String uuid, int dpi, List<PageImage> pages) {
+    if (!isEnabled()) {
+      return;
+    }
+    try {
+      CompletableFuture.allOf(pages.stream()
+          .map(page -> CompletableFuture.runAsync(
+              () -> storageClient.putObject(pageKey(uuid, dpi, page.page()), page.content(), "image/png"),
+              storageExecutor))
+          .toArray(CompletableFuture[]::new))
+          .join();
+
+      String pageList = pages.stream().map(page -> String.valueOf(page.page())).collect(Collectors.joining(","));
+      storageClient.putObject(pagesPrefix(uuid, dpi) + COMPLETE_MARKER, pageList.getBytes(StandardCharsets.UTF_8),
+          "text/plain");
+    } catch (RuntimeException e) {
+      log.warn("Failed to store page images: {}", uuid, e);
+    }
+  }
+
+  /**
+   * 파일의 모든 파생 객체를 삭제합니다.
+   */
+  public void deleteAll(String uuid) {
+    int removed = storageClient.removeObjects(PREFIX + uuid + "/");
+    if (removed > 0) {
+      log.debug("Removed {} derived artifacts: {}", removed, uuid);
+    }
+  }
+
+  private boolean isEnabled() {
+    return properties.getParsekit().getConverter().isCacheArtifacts();
+  }
+
+  private static String convertedPdfKey(String uuid) {
+    return PREFIX + uuid + "/converted.pdf";
+  }
+
+  private static String pagesPrefix(String uuid, int dpi) {
+    return PREFIX + uuid + "/pages-" + dpi + "/";
+  }
+
+  private static String pageKey(String uuid, int dpi, int page) {
+    return pagesPrefix(uuid, dpi) + page + ".png";
+  }
+
+  public record PageImage(int page, byte[] content) {
+  }
+}
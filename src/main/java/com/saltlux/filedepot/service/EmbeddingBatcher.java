@@ -0,0 +1,263 @@
+package com.saltlux.filedepot.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.saltlux.embedkit.TextEmbeddingClient;
+import com.saltlux.embedkit.payload.EmbeddingResult;
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.config.FileDepotProperties.EmbedKitProvider;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 문서의 청크를 모아 임베딩 서버의 batch-size만큼 채워 보내는 공유 디스패처.
+ * 배치가 차거나 첫 요청 이후 max-wait가 지나면 전송하고, 결과는 요청한 문서의 순서대로 돌려줍니다.
+ * 여러 요청이 섞인 배치가 실패하면 요청별로 나누어 다시 보내, 실패 원인이 된 요청만 실패하게 합니다.
+ * 임베딩 서버가 거절한 경우({@link ClientUnavailableException})는 다시 보내지 않고 배치 전체를 실패시킵니다.
+ * 동시에 보내는 배치 수는 임베딩 클라이언트의 {@code max-concurrency}로 제한해, 자리가 날 때까지는 디스패처가
+ * 기다리며 다음 배치를 채웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmbeddingBatcher implements SmartLifecycle {
+
+  private final ClientGuards clientGuards;
+  private final FileDepotProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  @Autowired(required = false)
+  private TextEmbeddingClient textEmbeddingClient;
+
+  private final BlockingQueue<PendingText> queue = new LinkedBlockingQueue<>();
+  private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+  private volatile boolean running;
+  private Thread dispatcherThread;
+  private DistributionSummary batchSizes;
+  private Semaphore sendPermits;
+
+  @Override
+  public void start() {
+    batchSizes = DistributionSummary.builder("filedepot.embedding.batch.size")
+        .description("Number of texts sent per embedding request")
+        .register(meterRegistry);
+    sendPermits = new Semaphore(
+        Math.max(1, properties.getProcessing().getClientGuard().getEmbedding().getMaxConcurrency()));
+    running = true;
+    if (isBatchingEnabled()) {
+      dispatcherThread = Thread.ofPlatform()
+          .name("embedding-batcher")
+          .daemon()
+          .start(this::dispatch);
+      log.info("Embedding batcher started: batchSize={}, maxWaitMillis={}", batchSize(),
+          properties.getEmbedkit().getBatching().getMaxWaitMillis());
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (dispatcherThread != null) {
+      dispatcherThread.interrupt();
+    }
+    sendExecutor.shutdown();
+    failPending(new ClientUnavailableException("embedding", "batcher is shutting down"));
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * 텍스트 목록의 임베딩을 요청 순서대로 반환합니다. 응답에 없는 텍스트의 자리는 null입니다.
+   */
+  public List<List<Float>> embed(List<String> texts) {
+    if (textEmbeddingClient == null) {
+      throw new IllegalStateException("Embedding client is not configured");
+    }
+    if (texts.isEmpty()) {
+      return List.of();
+    }
+    if (dispatcherThread == null) {
+      return embedDirectly(texts);
+    }
+    if (!running) {
+      throw new ClientUnavailableException("embedding", "batcher is not running");
+    }
+
+    Object request = new Object();
+    List<CompletableFuture<List<Float>>> futures = new ArrayList<>(texts.size());
+    for (String text : texts) {
+      PendingText pending = new PendingText(request, text, new CompletableFuture<>());
+      queue.add(pending);
+      futures.add(pending.future());
+    }
+    if (!running) {
+      failPending(new ClientUnavailableException("embedding", "batcher is shutting down"));
+    }
+
+    try {
+      List<List<Float>> embeddings = new ArrayList<>(futures.size());
+      for (CompletableFuture<List<Float>> future : futures) {
+        embeddings.add(future.join());
+      }
+      return embeddings;
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private List<List<Float>> embedDirectly(List<String> texts) {
+    List<EmbeddingResult> results = clientGuards.embedding().call(() -> textEmbeddingClient.embed(texts));
+    batchSizes.record(texts.size());
+    List<List<Float>> embeddings = new ArrayList<>(texts.size());
+    for (int i = 0; i < texts.size(); i++) {
+      embeddings.add(null);
+    }
+    for (EmbeddingResult result : results) {
+      embeddings.set(result.index(), result.embedding());
+    }
+    return embeddings;
+  }
+
+  private void dispatch() {
+    int batchSize = batchSize();
+    long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(properties.getEmbedkit().getBatching().getMaxWaitMillis());
+
+    while (running) {
+      List<PendingText> batch = new ArrayList<>(batchSize);
+      boolean permitted = false;
+      try {
+        sendPermits.acquire();
+        permitted = true;
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + maxWaitNanos;
+
+        while (batch.size() < batchSize) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long remaining = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || remaining <= 0) {
+            break;
+          }
+          PendingText next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+
+        submit(batch, true);
+      } catch (InterruptedException e) {
+        if (permitted) {
+          sendPermits.release();
+        }
+        ClientUnavailableException failure = new ClientUnavailableException("embedding", "batcher is shutting down");
+        batch.forEach(pending -> pending.future().completeExceptionally(failure));
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+  }
+
+  /**
+   * @param permitted 디스패처가 {@code sendPermits}를 얻어 보낸 배치이면 true. 전송이 끝나면 반환합니다.
+   */
+  private void submit(List<PendingText> batch, boolean permitted) {
+    try {
+      sendExecutor.execute(() -> {
+        try {
+          send(batch);
+        } finally {
+          if (permitted) {
+            sendPermits.release();
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      if (permitted) {
+        sendPermits.release();
+      }
+      ClientUnavailableException failure = new ClientUnavailableException("embedding", "batcher is shutting down");
+      batch.forEach(pending -> pending.future().completeExceptionally(failure));
+    }
+  }
+
+  private void send(List<PendingText> batch) {
+    List<String> texts = batch.stream().map(PendingText::text).toList();
+    try {
+      List<EmbeddingResult> results = clientGuards.embedding().call(() -> textEmbeddingClient.embed(texts));
+      batchSizes.record(texts.size());
+      for (EmbeddingResult result : results) {
+        batch.get(result.index()).future().complete(result.embedding());
+      }
+      batch.forEach(pending -> pending.future().complete(null));
+    } catch (ClientUnavailableException e) {
+      log.debug("Embedding batch of {} texts rejected: {}", texts.size(), e.getMessage());
+      batch.forEach(pending -> pending.future().completeExceptionally(e));
+    } catch (RuntimeException e) {
+      Map<Object, List<PendingText>> requests = new LinkedHashMap<>();
+      for (PendingText pending : batch) {
+        requests.computeIfAbsent(pending.request(), request -> new ArrayList<>()).add(pending);
+      }
+      if (requests.size() == 1) {
+        log.debug("Embedding batch of {} texts failed: {}", texts.size(), e.getMessage());
+        batch.forEach(pending -> pending.future().completeExceptionally(e));
+        return;
+      }
+      log.debug("Embedding batch of {} texts from {} requests failed, resending each request: {}", texts.size(),
+          requests.size(), e.getMessage());
+      requests.values().forEach(request -> submit(request, false));
+    }
+  }
+
+  private void failPending(RuntimeException failure) {
+    List<PendingText> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    remaining.forEach(pending -> pending.future().completeExceptionally(failure));
+  }
+
+  private boolean isBatchingEnabled() {
+    return textEmbeddingClient != null
+        && properties.getEmbedkit().getProvider() != EmbedKitProvider.NONE
+        && properties.getEmbedkit().getBatching().isEnabled();
+  }
+
+  private int batchSize() {
+    int configured = switch (properties.getEmbedkit().getProvider()) {
+      case VLLM -> properties.getEmbedkit().getVllm().getBatchSize();
+      case LUXIA -> properties.getEmbedkit().getLuxia().getBatchSize();
+      case NONE -> 1;
+    };
+    return Math.max(1, configured);
+  }
+
+  /**
+   * @param request 같은 {@link #embed} 호출에서 온 텍스트를 묶는 식별자
+   */
+  private record PendingText(Object request, String text, CompletableFuture<List<Float>> future) {
+  }
+}
@@ -0,0 +1,177 @@
+package com.saltlux.filedepot.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.config.FileDepotProperties.EmbeddingFormat;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code chunk.embedding} 저장 형식.
+ * 12바이트 헤더(magic {@code 0x7F 0xFE}, version, format, dimension, scale) 뒤에 float32, float16,
+ * 또는 벡터별 scale을 둔 int8 값이 이어집니다. 헤더가 없는 blob은 기존 big-endian float32 배열로 읽습니다.
+ * magic으로 시작하는 기존 blob은 첫 값이 NaN이어야 하므로 두 형식이 섞여도 구분됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmbeddingCodec {
+
+  static final int HEADER_SIZE = 12;
+  private static final byte MAGIC_0 = 0x7F;
+  private static final byte MAGIC_1 = (byte) 0xFE;
+  private static final byte VERSION = 1;
+  private static final int INT8_MAX = 127;
+
+  private final FileDepotProperties properties;
+
+  /**
+   * 설정된 {@code storage-format}으로 인코딩합니다.
+   */
+  public byte[] encode(List<Float> embedding) {
+    if (embedding == null || embedding.isEmpty()) {
+      return null;
+    }
+    float[] values = new float[embedding.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = embedding.get(i);
+    }
+    return encode(values, format());
+  }
+
+  /**
+   * 다른 형식(기존 float32 포함)의 blob을 설정된 형식으로 다시 인코딩합니다.
+   */
+  public byte[] reencode(byte[] bytes) {
+    float[] values = decode(bytes);
+    return values == null ? bytes : encode(values, format());
+  }
+
+  /**
+   * 설정된 형식으로 인코딩된 blob이 시작하는 4바이트(magic, version, format).
+   */
+  public byte[] headerPrefix() {
+    return new byte[] { MAGIC_0, MAGIC_1, VERSION, formatId(format()) };
+  }
+
+  public EmbeddingFormat format() {
+    return properties.getEmbedkit().getStorageFormat();
+  }
+
+  static byte[] encode(float[] values, EmbeddingFormat format) {
+    int width = width(format);
+    float scale = format == EmbeddingFormat.INT8 ? int8Scale(values) : 1.0f;
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + values.length * width);
+    buffer.put(MAGIC_0).put(MAGIC_1).put(VERSION).put(formatId(format));
+    buffer.putInt(values.length);
+    buffer.putFloat(scale);
+    for (float value : values) {
+      switch (format) {
+        case FLOAT32 -> buffer.putFloat(value);
+        case FLOAT16 -> buffer.putShort(Float.floatToFloat16(value));
+        case INT8 -> buffer.put((byte) Math.max(-INT8_MAX, Math.min(INT8_MAX, Math.round(value / scale))));
+      }
+    }
+    return buffer.array();
+  }
+
+  /**
+   * 헤더가 있는 blob과 기존 float32 blob을 모두 읽습니다.
+   *
+   * @throws IllegalArgumentException 어느 형식으로도 읽을 수 없는 경우
+   */
+  public static float[] decode(byte[] bytes) {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    if (!hasHeader(bytes)) {
+      if (bytes.length % 4 != 0) {
+        throw new IllegalArgumentException("Invalid embedding blob length: " + bytes.length);
+      }
+      float[] values = new float[bytes.length / 4];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = buffer.getFloat();
+      }
+      return values;
+    }
+
+    byte version = bytes[2];
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported embedding format version: " + version);
+    }
+    EmbeddingFormat format = formatOf(bytes[3]);
+    buffer.position(4);
+    int dimension = buffer.getInt();
+    float scale = buffer.getFloat();
+    int width = width(format);
+    if (dimension < 0 || (long) dimension * width != bytes.length - HEADER_SIZE) {
+      throw new IllegalArgumentException(
+          "Embedding blob length " + bytes.length + " does not match dimension " + dimension);
+    }
+
+    float[] values = new float[dimension];
+    for (int i = 0; i < dimension; i++) {
+      values[i] = switch (format) {
+        case FLOAT32 -> buffer.getFloat();
+        case FLOAT16 -> Float.float16ToFloat(buffer.getShort());
+        case INT8 -> buffer.get() * scale;
+      };
+    }
+    return values;
+  }
+
+  public static List<Float> decodeToList(byte[] bytes) {
+    float[] values = decode(bytes);
+    if (values == null) {
+      return null;
+    }
+    List<Float> result = new ArrayList<>(values.length);
+    for (float value : values) {
+      result.add(value);
+    }
+    return result;
+  }
+
+  private static boolean hasHeader(byte[] bytes) {
+    return bytes.length >= HEADER_SIZE && bytes[0] == MAGIC_0 && bytes[1] == MAGIC_1;
+  }
+
+  private static float int8Scale(float[] values) {
+    float maxAbs = 0;
+    for (float value : values) {
+      maxAbs = Math.max(maxAbs, Math.abs(value));
+    }
+    return maxAbs > 0 ? maxAbs / INT8_MAX : 1.0f;
+  }
+
+  private static int width(EmbeddingFormat format) {
+    return switch (format) {
+      case FLOAT32 -> 4;
+      case FLOAT16 -> 2;
+      case INT8 -> 1;
+    };
+  }
+
+  private static byte formatId(EmbeddingFormat format) {
+    return switch (format) {
+      case FLOAT32 -> 1;
+      case FLOAT16 -> 2;
+      case INT8 -> 3;
+    };
+  }
+
+  private static EmbeddingFormat formatOf(byte id) {
+    return switch (id) {
+      case 1 -> EmbeddingFormat.FLOAT32;
+      case 2 -> EmbeddingFormat.FLOAT16;
+      case 3 -> EmbeddingFormat.INT8;
+      default -> throw new IllegalArgumentException("Unknown embedding format: " + id);
+    };
+  }
+}
@@ -0,0 +1,119 @@
+package com.saltlux.filedepot.service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 텍스트 추출 대상 파일 내용.
+ * {@code spillThreshold} 이하면 힙에 그대로 두고, 넘으면 ByteArrayOutputStream으로 키우지 않고
+ * 임시 파일로 흘려 보냅니다. 닫으면 임시 파일을 삭제합니다.
+ */
+@Slf4j
+class ExtractionInput implements AutoCloseable {
+
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  private final byte[] content;
+  private final Path file;
+  private final long size;
+
+  private ExtractionInput(byte[] content, Path file, long size) {
+    this.content = content;
+    this.file = file;
+    this.size = size;
+  }
+
+  /**
+   * 스트림을 읽어 입력을 만듭니다. 먼저 {@code spillThreshold + 1}바이트까지만 읽어 크기를 판단하므로
+   * 객체 크기를 미리 알 필요가 없습니다.
+   */
+  static ExtractionInput from(InputStream stream, long spillThreshold, Path spillDirectory) throws IOException {
+    int headLimit = (int) Math.min(spillThreshold + 1, Integer.MAX_VALUE - 8);
+    byte[] head = stream.readNBytes(headLimit);
+    if (head.length <= spillThreshold) {
+      return new ExtractionInput(head, null, head.length);
+    }
+
+    Files.createDirectories(spillDirectory);
+    Path file = Files.createTempFile(spillDirectory, "extract-", ".tmp");
+    try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.TRUNCATE_EXISTING)) {
+      out.write(head);
+      byte[] buffer = new byte[COPY_BUFFER_SIZE];
+      int read;
+      while ((read = stream.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+    return new ExtractionInput(null, file, Files.size(file));
+  }
+
+  long size() {
+    return size;
+  }
+
+  boolean isSpilled() {
+    return file != null;
+  }
+
+  /**
+   * 임시 파일 경로. 파일에서 직접 읽을 수 있는 파서를 위한 것으로, {@link #isSpilled()}일 때만 유효합니다.
+   */
+  Path spillFile() {
+    return file;
+  }
+
+  /**
+   * byte[]만 받는 클라이언트에 넘기기 위해 내용을 정확한 크기의 배열 하나로 읽습니다.
+   * 호출자는 반환된 배열을 요청이 끝나는 즉시 놓아야 합니다.
+   * <p>
+   * 한계: parsekit 클라이언트(Converter, Docling)가 byte[]만 받으므로 spill된 입력도 이 호출 동안은
+   * 파일 크기만큼 힙을 사용합니다. spill은 다운로드 중 ByteArrayOutputStream 확장과 복사를 없앨 뿐,
+   * 변환 호출 중 최대 힙 사용량은 여전히 파일 크기에 비례하며, 호출자는 {@code max-client-input-size}로
+   * 크기를 제한합니다. 스트림이나 파일 경로를 받는 클라이언트 API가 생기면 {@link #spillFile()}을 직접 넘겨야 합니다.
+   */
+  byte[] toBytes() {
+    if (content != null) {
+      return content;
+    }
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Extraction input too large: " + size + " bytes");
+    }
+
+    byte[] bytes = new byte[(int) size];
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) == -1) {
+          throw new EOFException("Spilled extraction input truncated: " + file);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read spilled extraction input: " + file, e);
+    }
+    return bytes;
+  }
+
+  @Override
+  public void close() {
+    if (file != null) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        log.warn("Failed to delete spilled extraction input: {}", file, e);
+      }
+    }
+  }
+}
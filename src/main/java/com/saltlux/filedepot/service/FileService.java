@@ -2,25 +2,56 @@ package com.saltlux.filedepot.service;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.dto.CompletedPart;
+import com.saltlux.filedepot.dto.ConfirmUploadResult;
+import com.saltlux.filedepot.dto.FileContentInfo;
+import com.saltlux.filedepot.dto.MultipartPartUrlRequest;
+import com.saltlux.filedepot.dto.MultipartPartUrlResponse;
+import com.saltlux.filedepot.dto.MultipartUploadRequest;
+import com.saltlux.filedepot.dto.MultipartUploadResponse;
 import com.saltlux.filedepot.entity.Chunk;
 import com.saltlux.filedepot.entity.ExtractedContent;
 import com.saltlux.filedepot.entity.ProcessingStep;
 import com.saltlux.filedepot.entity.StorageItem;
 import com.saltlux.filedepot.repository.ChunkRepository;
 import com.saltlux.filedepot.repository.ExtractedContentRepository;
+import com.saltlux.filedepot.repository.PageOcrResultRepository;
 import com.saltlux.filedepot.repository.StorageItemRepository;
 
 import io.minio.StatObjectResponse;
@@ -43,10 +74,37 @@ public class FileService {
   private final StorageItemRepository storageItemRepository;
   private final ExtractedContentRepository extractedContentRepository;
   private final ChunkRepository chunkRepository;
+  private final PageOcrResultRepository pageOcrResultRepository;
   private final StorageClient storageClient;
   private final ProcessingQueue processingQueue;
+  private final FileDepotProperties properties;
+  private final PresignedUrlCache presignedUrlCache;
+  private final DerivedArtifactStore derivedArtifactStore;
+
+  @Qualifier("storageExecutor")
+  private final Executor storageExecutor;
 
   private static final int PRESIGNED_URL_EXPIRY_SECONDS = 3600;
+  private static final int MAX_MULTIPART_PART_NUMBER = 10000;
+  private static final int CONTENT_COPY_BUFFER_SIZE = 64 * 1024;
+
+  /** 다시 deflate해도 크기가 거의 줄지 않는 형식 */
+  private static final Set<String> PRECOMPRESSED_CONTENT_TYPES = Set.of(
+      "application/pdf",
+      "application/zip",
+      "application/x-zip-compressed",
+      "application/gzip",
+      "application/x-7z-compressed",
+      "application/x-rar-compressed",
+      "application/vnd.hancom.hwpx",
+      "application/hwp+zip",
+      "application/epub+zip",
+      "image/png",
+      "image/jpeg",
+      "image/gif",
+      "image/webp",
+      "image/heic",
+      "image/avif");
 
   public UploadUrlResponse prepareUpload() {
     String uuid = UUID.randomUUID().toString();
@@ -57,22 +115,125 @@ public class FileService {
     return new UploadUrlResponse(uuid, uploadUrl, PRESIGNED_URL_EXPIRY_SECONDS);
   }
 
+  public List<UploadUrlResponse> prepareUploadBatch(int count) {
+    int batchLimit = properties.getUpload().getBatchLimit();
+    if (count < 1 || count > batchLimit) {
+      throw new IllegalArgumentException("Count must be between 1 and " + batchLimit + ": " + count);
+    }
+
+    List<String> uuids = IntStream.range(0, count)
+        .mapToObj(i -> UUID.randomUUID().toString())
+        .toList();
+    List<String> uploadUrls = storageClient.getPresignedUploadUrls(uuids, PRESIGNED_URL_EXPIRY_SECONDS);
+
+    log.info("Prepared batch upload: count={}", count);
+
+    return IntStream.range(0, count)
+        .mapToObj(i -> new UploadUrlResponse(uuids.get(i), uploadUrls.get(i), PRESIGNED_URL_EXPIRY_SECONDS))
+        .toList();
+  }
+
+  public MultipartUploadResponse initiateMultipartUpload(String contentType) {
+    String uuid = UUID.randomUUID().toString();
+    String uploadId = storageClient.createMultipartUpload(uuid, contentType);
+
+    log.info("Initiated multipart upload: uuid={}", uuid);
+
+    return new MultipartUploadResponse(uuid, uploadId);
+  }
+
+  public List<MultipartPartUrlResponse> getMultipartPartUrls(MultipartPartUrlRequest request) {
+    validateMultipartUpload(request.id(), request.uploadId());
+
+    List<Integer> partNumbers = request.partNumbers();
+    if (partNumbers == null || partNumbers.isEmpty()) {
+      throw new IllegalArgumentException("Part numbers cannot be empty");
+    }
+    int batchLimit = properties.getUpload().getBatchLimit();
+    if (partNumbers.size() > batchLimit) {
+      throw new IllegalArgumentException("Too many part numbers, limit is " + batchLimit + ": " + partNumbers.size());
+    }
+    for (Integer partNumber : partNumbers) {
+      if (partNumber == null || partNumber < 1 || partNumber > MAX_MULTIPART_PART_NUMBER) {
+        throw new IllegalArgumentException(
+            "Part number must be between 1 and " + MAX_MULTIPART_PART_NUMBER + ": " + partNumber);
+      }
+    }
+
+    List<String> uploadUrls = storageClient.getPresignedPartUploadUrls(
+        request.id(), request.uploadId(), partNumbers, PRESIGNED_URL_EXPIRY_SECONDS);
+
+    return IntStream.range(0, partNumbers.size())
+        .mapToObj(i -> new MultipartPartUrlResponse(partNumbers.get(i), uploadUrls.get(i), PRESIGNED_URL_EXPIRY_SECONDS))
+        .toList();
+  }
+
+  /**
+   * 멀티파트 업로드를 완료합니다. 완료된 객체는 일반 업로드와 동일하게 confirm-upload로 확인합니다.
+   * 요청의 파트 목록은 1..N 연속이어야 하며, MinIO에 업로드된 파트와 번호와 ETag가 모두 일치할 때만 완료합니다.
+   */
+  public void completeMultipartUpload(MultipartUploadRequest request) {
+    validateMultipartUpload(request.id(), request.uploadId());
+
+    List<CompletedPart> parts = request.parts();
+    if (parts == null || parts.isEmpty()) {
+      throw new IllegalArgumentException("Parts are required to complete a multipart upload");
+    }
+    if (parts.size() > MAX_MULTIPART_PART_NUMBER) {
+      throw new IllegalArgumentException("Too many parts: " + parts.size());
+    }
+    for (int i = 0; i < parts.size(); i++) {
+      CompletedPart part = parts.get(i);
+      if (part == null || part.partNumber() != i + 1) {
+        throw new IllegalArgumentException("Part numbers must be contiguous from 1: expected " + (i + 1));
+      }
+      if (part.etag() == null || part.etag().isBlank()) {
+        throw new IllegalArgumentException("ETag is required for part " + part.partNumber());
+      }
+    }
+
+    storageClient.completeMultipartUpload(request.id(), request.uploadId(), parts);
+
+    log.info("Completed multipart upload: uuid={}", request.id());
+  }
+
+  public void abortMultipartUpload(MultipartUploadRequest request) {
+    validateMultipartUpload(request.id(), request.uploadId());
+
+    storageClient.abortMultipartUpload(request.id(), request.uploadId());
+
+    log.info("Aborted multipart upload: uuid={}", request.id());
+  }
+
+  /**
+   * 업로드를 확인합니다. 이미 확인된 파일(버킷 알림으로 자동 확인된 경우 포함)이면 새로 저장하거나
+   * 처리 큐에 다시 등록하지 않고, 파일명이 주어진 경우 파일명만 갱신합니다.
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public StorageItemDto confirmUpload(ConfirmUploadRequest request) {
+    Optional<StorageItem> confirmed = findConfirmed(request.id(), request.fileName());
+    if (confirmed.isPresent()) {
+      log.info("Upload already confirmed: id={}", request.id());
+      return toDto(confirmed.get());
+    }
+
+    storageClient.invalidateLocalCopy(request.id());
     StatObjectResponse stat = storageClient.statObject(request.id());
+    String contentHash = storageClient.computeSha256(request.id());
 
-    String fileName = request.fileName();
-    if (fileName == null || fileName.isBlank()) {
-      fileName = request.id();
-    }
+    String fileName = resolveFileName(request);
 
     StorageItem item = StorageItem.builder()
         .uuid(request.id())
         .contentType(stat.contentType())
         .size(stat.size())
         .fileName(fileName)
+        .contentHash(contentHash)
         .build();
 
-    storageItemRepository.save(item);
+    if (!insertIfAbsent(item)) {
+      return toDto(findConfirmed(request.id(), request.fileName()).orElseThrow());
+    }
 
     log.info("Confirmed upload: id={}, fileName={}", request.id(), fileName);
 
@@ -81,6 +242,141 @@ public class FileService {
     return toDto(item);
   }
 
+  /**
+   * 여러 업로드를 한 번에 확인합니다. MinIO stat과 해시 계산은 storageExecutor에서 병렬로 수행하고,
+   * StorageItem은 하나의 JDBC 배치로 저장한 뒤 처리 큐에 일괄 등록합니다.
+   * 이미 확인된 파일은 단건 확인과 같이 성공으로 처리합니다.
+   *
+   * @return 요청 순서와 같은 순서의 항목별 결과
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public List<ConfirmUploadResult> confirmUploadBatch(List<ConfirmUploadRequest> requests) {
+    if (requests == null || requests.isEmpty()) {
+      throw new IllegalArgumentException("Requests cannot be empty");
+    }
+    int batchLimit = properties.getUpload().getBatchLimit();
+    if (requests.size() > batchLimit) {
+      throw new IllegalArgumentException("Too many requests, limit is " + batchLimit + ": " + requests.size());
+    }
+
+    ConfirmUploadResult[] results = new ConfirmUploadResult[requests.size()];
+
+    Set<String> confirmedUuids = storageItemRepository.findByUuidIn(
+        requests.stream().map(ConfirmUploadRequest::id).filter(Objects::nonNull).toList()).stream()
+        .map(StorageItem::getUuid)
+        .collect(Collectors.toSet());
+
+    Set<String> seen = new HashSet<>();
+    Map<Integer, CompletableFuture<UploadedObject>> stats = new TreeMap<>();
+    for (int i = 0; i < requests.size(); i++) {
+      ConfirmUploadRequest request = requests.get(i);
+      String id = request.id();
+      if (id == null || id.isBlank()) {
+        results[i] = ConfirmUploadResult.failure(id, "ID is required");
+      } else if (!seen.add(id)) {
+        results[i] = ConfirmUploadResult.failure(id, "Duplicate ID in request");
+      } else if (confirmedUuids.contains(id)) {
+        results[i] = confirmExisting(request);
+      } else {
+        stats.put(i, CompletableFuture.supplyAsync(
+            () -> {
+              storageClient.invalidateLocalCopy(id);
+              return new UploadedObject(storageClient.statObject(id), storageClient.computeSha256(id));
+            },
+            storageExecutor));
+      }
+    }
+
+    Map<Integer, StorageItem> items = new TreeMap<>();
+    Instant now = Instant.now();
+    stats.forEach((i, future) -> {
+      ConfirmUploadRequest request = requests.get(i);
+      try {
+        UploadedObject uploaded = future.join();
+        items.put(i, StorageItem.builder()
+            .uuid(request.id())
+            .contentType(uploaded.stat().contentType())
+            .size(uploaded.stat().size())
+            .fileName(resolveFileName(request))
+            .contentHash(uploaded.contentHash())
+            .createdAt(now)
+            .build());
+      } catch (Exception e) {
+        if (StorageClient.isNoSuchKey(e)) {
+          log.warn("Uploaded object not found: id={}", request.id());
+          results[i] = ConfirmUploadResult.failure(request.id(), "Object not found in storage");
+        } else {
+          log.error("Failed to stat uploaded object: id={}", request.id(), e);
+          results[i] = ConfirmUploadResult.failure(request.id(), "Failed to read object from storage");
+        }
+      }
+    });
+
+    List<String> insertedUuids = new ArrayList<>();
+    try {
+      storageItemRepository.insertAll(List.copyOf(items.values()));
+      items.forEach((i, item) -> {
+        results[i] = ConfirmUploadResult.success(toDto(item));
+        insertedUuids.add(item.getUuid());
+      });
+    } catch (DataAccessException e) {
+      // 다른 경로에서 일부가 먼저 확인된 경우 등: 항목별로 다시 저장
+      log.warn("Batch insert of confirmed uploads failed, falling back to per-item insert: {}", e.getMessage());
+      items.forEach((i, item) -> {
+        if (insertIfAbsent(item)) {
+          results[i] = ConfirmUploadResult.success(toDto(item));
+          insertedUuids.add(item.getUuid());
+        } else {
+          results[i] = confirmExisting(requests.get(i));
+        }
+      });
+    }
+
+    processingQueue.submitAll(insertedUuids);
+
+    log.info("Confirmed batch upload: {} new, {} total requests", insertedUuids.size(), requests.size());
+
+    return Arrays.asList(results);
+  }
+
+  /**
+   * 요청 본문을 MinIO로 스트리밍 업로드한 뒤 바로 업로드 확인과 처리 등록까지 수행합니다.
+   * 본문 전체를 힙이나 임시 파일에 담지 않으며, 해시는 업로드 중에 함께 계산합니다.
+   *
+   * @param size 본문 크기, 알 수 없으면 -1
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public StorageItemDto uploadContent(String uuid, String fileName, String contentType, long size,
+      InputStream content) {
+    validateUuid(uuid);
+    if (storageItemRepository.findByUuid(uuid).isPresent()) {
+      throw new IllegalStateException("File already exists: " + uuid);
+    }
+
+    DigestInputStream digestStream = new DigestInputStream(content, sha256());
+    storageClient.putObject(uuid, digestStream, size, contentType);
+    String contentHash = HexFormat.of().formatHex(digestStream.getMessageDigest().digest());
+
+    StatObjectResponse stat = storageClient.statObject(uuid);
+    StorageItem item = StorageItem.builder()
+        .uuid(uuid)
+        .contentType(stat.contentType())
+        .size(stat.size())
+        .fileName(resolveFileName(new ConfirmUploadRequest(uuid, fileName)))
+        .contentHash(contentHash)
+        .build();
+
+    if (!insertIfAbsent(item)) {
+      return toDto(findConfirmed(uuid, fileName).orElseThrow());
+    }
+
+    log.info("Uploaded content: id={}, size={}", uuid, stat.size());
+
+    processingQueue.submit(uuid);
+
+    return toDto(item);
+  }
+
   @Transactional(readOnly = true)
   public StorageItemDto getFileMetadata(String id, boolean withContent) {
     StorageItem item = storageItemRepository.findByUuidAndDeletedFalse(id)
@@ -94,9 +390,55 @@ public class FileService {
     StorageItem item = storageItemRepository.findByUuidAndDeletedFalse(uuid)
         .orElseThrow(() -> new IllegalArgumentException("File not found: " + uuid));
 
-    String downloadUrl = storageClient.getPresignedDownloadUrl(item.getUuid(), PRESIGNED_URL_EXPIRY_SECONDS);
+    PresignedUrlCache.PresignedUrl downloadUrl = presignedUrlCache.get(item.getUuid(), PRESIGNED_URL_EXPIRY_SECONDS,
+        uuid -> storageClient.getPresignedDownloadUrl(uuid, PRESIGNED_URL_EXPIRY_SECONDS));
 
-    return new DownloadUrlResponse(downloadUrl, PRESIGNED_URL_EXPIRY_SECONDS);
+    return new DownloadUrlResponse(downloadUrl.url(), downloadUrl.expiresIn());
+  }
+
+  @Transactional(readOnly = true)
+  public FileContentInfo getContentInfo(String uuid) {
+    StorageItem item = storageItemRepository.findByUuidAndDeletedFalse(uuid)
+        .orElseThrow(() -> new IllegalArgumentException("File not found: " + uuid));
+
+    StatObjectResponse stat = storageClient.statObject(uuid);
+
+    return new FileContentInfo(item.getFileName(), item.getContentType(), stat.size(), stat.etag(),
+        stat.lastModified().toInstant());
+  }
+
+  /**
+   * 객체 전체를 고정 크기 버퍼로 복사합니다. 빈 객체는 MinIO를 호출하지 않고 아무것도 쓰지 않습니다.
+   */
+  public StreamingResponseBody streamContent(String uuid, long size) {
+    if (size == 0) {
+      return outputStream -> {
+      };
+    }
+    return outputStream -> {
+      try (InputStream inputStream = storageClient.getObject(uuid)) {
+        copyContent(inputStream, outputStream);
+      }
+    };
+  }
+
+  /**
+   * 객체의 [offset, offset + length) 구간만 MinIO에서 읽어 고정 크기 버퍼로 복사합니다. Range 응답(206)에만 사용합니다.
+   */
+  public StreamingResponseBody streamContent(String uuid, long offset, long length) {
+    return outputStream -> {
+      try (InputStream inputStream = storageClient.getObject(uuid, offset, length)) {
+        copyContent(inputStream, outputStream);
+      }
+    };
+  }
+
+  private void copyContent(InputStream inputStream, OutputStream outputStream) throws IOException {
+    byte[] buffer = new byte[CONTENT_COPY_BUFFER_SIZE];
+    int read;
+    while ((read = inputStream.read(buffer)) != -1) {
+      outputStream.write(buffer, 0, read);
+    }
   }
 
   @Transactional(readOnly = true)
@@ -116,12 +458,15 @@ public class FileService {
       return;
     }
 
+    presignedUrlCache.invalidate(uuids);
+
     List<String> deletedUuids = new ArrayList<>();
     List<String> failedUuids = new ArrayList<>();
 
     for (String uuid : uuids) {
       try {
         storageClient.removeObject(uuid);
+        derivedArtifactStore.deleteAll(uuid);
         deletedUuids.add(uuid);
       } catch (Exception e) {
         log.warn("Failed to remove object from MinIO: uuid={}", uuid, e);
@@ -130,6 +475,7 @@ public class FileService {
     }
 
     if (!deletedUuids.isEmpty()) {
+      pageOcrResultRepository.deleteByUuidIn(deletedUuids);
       storageItemRepository.deleteByUuidIn(deletedUuids);
     }
 
@@ -158,15 +504,18 @@ public class FileService {
 
     Map<Long, String> idToZipEntryName = resolveNameConflicts(items);
 
+    var batch = properties.getDownload().getBatch();
+
     return outputStream -> {
-      try (ZipOutputStream zipOut = new ZipOutputStream(outputStream)) {
-        for (StorageItem item : items) {
-          String zipEntryName = idToZipEntryName.get(item.getId());
-          zipOut.putNextEntry(new ZipEntry(zipEntryName));
+      try (ZipOutputStream zipOut = new ZipOutputStream(outputStream);
+          ObjectPrefetcher prefetcher = new ObjectPrefetcher(storageClient, storageExecutor, items,
+              batch.getPrefetchCount(), batch.getPrefetchByteBudget())) {
+        while (prefetcher.hasNext()) {
+          ObjectPrefetcher.PrefetchedObject object = prefetcher.next();
+          String zipEntryName = idToZipEntryName.get(object.item().getId());
+          putZipEntry(zipOut, zipEntryName, object);
 
-          try (InputStream inputStream = storageClient.getObject(item.getUuid())) {
-            inputStream.transferTo(zipOut);
-          }
+          object.transferTo(zipOut);
 
           zipOut.closeEntry();
         }
@@ -180,6 +529,119 @@ public class FileService {
     };
   }
 
+  /**
+   * 이미 압축된 형식은 STORED로, 나머지는 빠른 deflate 레벨로 ZIP 항목을 시작합니다.
+   * STORED 항목은 CRC와 크기가 미리 필요하므로, 버퍼링되지 않은 큰 객체는 무압축 deflate로 기록합니다.
+   */
+  private static void putZipEntry(ZipOutputStream zipOut, String name, ObjectPrefetcher.PrefetchedObject object)
+      throws IOException {
+    ZipEntry entry = new ZipEntry(name);
+    byte[] content = object.content();
+
+    if (!isPrecompressed(object.item().getContentType())) {
+      entry.setMethod(ZipEntry.DEFLATED);
+      zipOut.setLevel(Deflater.BEST_SPEED);
+    } else if (content != null) {
+      CRC32 crc = new CRC32();
+      crc.update(content);
+      entry.setMethod(ZipEntry.STORED);
+      entry.setSize(content.length);
+      entry.setCompressedSize(content.length);
+      entry.setCrc(crc.getValue());
+    } else {
+      entry.setMethod(ZipEntry.DEFLATED);
+      zipOut.setLevel(Deflater.NO_COMPRESSION);
+    }
+
+    zipOut.putNextEntry(entry);
+  }
+
+  private static boolean isPrecompressed(String contentType) {
+    if (contentType == null) {
+      return false;
+    }
+    String mimeType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+    return PRECOMPRESSED_CONTENT_TYPES.contains(mimeType)
+        || mimeType.startsWith("video/")
+        || mimeType.startsWith("audio/")
+        || mimeType.startsWith("application/vnd.openxmlformats-officedocument.")
+        || mimeType.startsWith("application/vnd.oasis.opendocument.");
+  }
+
+  /**
+   * 이미 확인된 파일을 조회합니다. 파일명이 주어지면 갱신합니다.
+   *
+   * @throws IllegalStateException 삭제된 파일인 경우
+   */
+  private Optional<StorageItem> findConfirmed(String uuid, String fileName) {
+    return storageItemRepository.findByUuid(uuid).map(item -> {
+      if (item.isDeleted()) {
+        throw new IllegalStateException("File has been deleted: " + uuid);
+      }
+      if (fileName != null && !fileName.isBlank() && !fileName.equals(item.getFileName())) {
+        item.updateFileName(fileName);
+        return storageItemRepository.save(item);
+      }
+      return item;
+    });
+  }
+
+  private ConfirmUploadResult confirmExisting(ConfirmUploadRequest request) {
+    try {
+      return findConfirmed(request.id(), request.fileName())
+          .map(item -> ConfirmUploadResult.success(toDto(item)))
+          .orElseGet(() -> ConfirmUploadResult.failure(request.id(), "Failed to save upload"));
+    } catch (IllegalStateException e) {
+      return ConfirmUploadResult.failure(request.id(), e.getMessage());
+    }
+  }
+
+  /**
+   * 새 StorageItem을 저장합니다. 버킷 알림 등 다른 경로에서 동시에 먼저 저장한 경우 false를 반환합니다.
+   */
+  private boolean insertIfAbsent(StorageItem item) {
+    try {
+      storageItemRepository.save(item);
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Upload confirmed concurrently: id={}", item.getUuid());
+      return false;
+    }
+  }
+
+  private void validateUuid(String uuid) {
+    try {
+      UUID.fromString(uuid);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid ID: " + uuid);
+    }
+  }
+
+  private MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private void validateMultipartUpload(String id, String uploadId) {
+    if (id == null || id.isBlank()) {
+      throw new IllegalArgumentException("ID is required");
+    }
+    if (uploadId == null || uploadId.isBlank()) {
+      throw new IllegalArgumentException("Upload ID is required");
+    }
+  }
+
+  private String resolveFileName(ConfirmUploadRequest request) {
+    String fileName = request.fileName();
+    if (fileName == null || fileName.isBlank()) {
+      fileName = request.id();
+    }
+    return fileName;
+  }
+
   private StorageItemDto toDto(StorageItem item) {
     return toDto(item, false);
   }
@@ -246,18 +708,9 @@ public class FileService {
         chunk.getId().toString(),
         chunk.getChunkIndex(),
         chunk.getContent(),
-        withEmbedding ? toEmbeddingList(chunk.getEmbedding()) : null);
+        withEmbedding ? EmbeddingCodec.decodeToList(chunk.getEmbedding()) : null);
   }
 
-  private List<Float> toEmbeddingList(byte[] bytes) {
-    if (bytes == null || bytes.length == 0) {
-      return null;
-    }
-    ByteBuffer buffer = ByteBuffer.wrap(bytes);
-    List<Float> result = new ArrayList<>();
-    while (buffer.hasRemaining()) {
-      result.add(buffer.getFloat());
-    }
-    return result;
+  private record UploadedObject(StatObjectResponse stat, String contentHash) {
   }
 }
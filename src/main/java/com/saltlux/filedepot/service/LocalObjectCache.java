@@ -0,0 +1,425 @@
+package com.saltlux.filedepot.service;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.config.FileDepotProperties.MinioProperties.LocalCacheProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.minio.GetObjectResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MinIO 객체의 노드 로컬 디스크 캐시 (read-through).
+ * 전체 크기가 {@code max-bytes}를 넘으면 가장 오래 사용되지 않은 파일부터 삭제합니다.
+ * 캐시 파일은 원본을 읽는 동안 임시 파일에 받은 뒤 원자적으로 이동하므로, 읽는 쪽은 완성된 파일만 봅니다.
+ * 받는 중인 임시 파일도 크기를 미리 예약해 {@code max-bytes}에 포함하므로, 동시에 여러 객체를 받아도 한도를 넘지 않습니다.
+ */
+@Slf4j
+@Component
+public class LocalObjectCache {
+
+  /**
+   * 받는 중인 임시 파일의 접두사. 키는 {@link URLEncoder}로 인코딩되어 '~'를 포함할 수 없으므로 캐시 파일과 겹치지 않습니다.
+   */
+  private static final String TEMP_PREFIX = "~partial-";
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  private final LocalCacheProperties cacheProperties;
+  private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, Object> pendingLoads = new ConcurrentHashMap<>();
+  private final Counter hits;
+  private final Counter misses;
+
+  private Path directory;
+  private long totalBytes;
+  private long reservedBytes;
+
+  public LocalObjectCache(FileDepotProperties properties, MeterRegistry meterRegistry) {
+    this.cacheProperties = properties.getMinio().getLocalCache();
+    this.hits = Counter.builder("filedepot.storage.local.cache.requests")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder("filedepot.storage.local.cache.requests")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("filedepot.storage.local.cache.bytes", this, LocalObjectCache::totalBytes)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 이전 실행에서 남은 파일을 색인합니다. 완성되지 않은 임시 파일은 삭제합니다.
+   */
+  @PostConstruct
+  public void init() {
+    if (!cacheProperties.isEnabled()) {
+      return;
+    }
+
+    directory = Path.of(cacheProperties.getDirectory());
+    try {
+      Files.createDirectories(directory);
+      List<Path> files;
+      try (Stream<Path> stream = Files.list(directory)) {
+        files = new ArrayList<>(stream.toList());
+      }
+      files.sort(Comparator.comparing(LocalObjectCache::lastModified));
+
+      synchronized (entries) {
+        for (Path file : files) {
+          if (file.getFileName().toString().startsWith(TEMP_PREFIX)) {
+            Files.deleteIfExists(file);
+            continue;
+          }
+          long size = Files.size(file);
+          entries.put(file.getFileName().toString(), size);
+          totalBytes += size;
+        }
+        evict();
+      }
+      log.info("Local object cache ready: {} ({} files, {} bytes)", directory, entries.size(), totalBytes);
+    } catch (IOException e) {
+      log.error("Failed to initialize local object cache, disabling: {}", directory, e);
+      directory = null;
+    }
+  }
+
+  public boolean isEnabled() {
+    return directory != null;
+  }
+
+  /**
+   * 캐시된 파일을 열거나, 없으면 {@code loader}의 스트림을 그대로 반환하면서 읽는 동안 임시 파일에 함께 씁니다.
+   * 끝까지 읽고 닫은 경우에만 캐시에 등록하므로 첫 바이트를 기다리지 않으며, 중간에 닫히거나 그 사이
+   * {@link #invalidate}된 객체는 캐시하지 않습니다.
+   * MinIO 응답의 Content-Length만큼 받기 전에 예약하고, 크기를 모르면 읽는 대로 예약합니다. 다른 다운로드의 예약과
+   * 합쳐 {@code max-bytes}를 넘으면 캐시하지 않고 원본 스트림만 전달합니다.
+   */
+  public InputStream open(String objectName, Supplier<InputStream> loader) {
+    if (directory == null) {
+      return loader.get();
+    }
+
+    String key = toKey(objectName);
+    InputStream cached = openCached(key);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+
+    InputStream source = loader.get();
+    long expectedSize = contentLength(source);
+    if (expectedSize > 0 && !reserve(expectedSize)) {
+      log.debug("Not caching {}: {} bytes do not fit the local cache", objectName, expectedSize);
+      return source;
+    }
+    long reserved = Math.max(expectedSize, 0);
+
+    Path temp = null;
+    try {
+      temp = Files.createTempFile(directory, TEMP_PREFIX, null);
+      OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), WRITE_BUFFER_SIZE);
+      Object token = new Object();
+      pendingLoads.put(key, token);
+      return new CachingInputStream(source, key, token, temp, out, reserved);
+    } catch (IOException e) {
+      log.warn("Failed to create cache file, reading without caching: {}", objectName, e);
+      release(reserved);
+      deleteQuietly(temp);
+      return source;
+    }
+  }
+
+  public void invalidate(String objectName) {
+    if (directory == null) {
+      return;
+    }
+    String key = toKey(objectName);
+    synchronized (entries) {
+      pendingLoads.remove(key);
+      Long size = entries.remove(key);
+      if (size != null) {
+        totalBytes -= size;
+      }
+      deleteQuietly(directory.resolve(key));
+    }
+  }
+
+  private InputStream openCached(String key) {
+    synchronized (entries) {
+      if (entries.get(key) == null) {
+        return null;
+      }
+    }
+    try {
+      return Channels.newInputStream(FileChannel.open(directory.resolve(key), StandardOpenOption.READ));
+    } catch (NoSuchFileException e) {
+      synchronized (entries) {
+        Long size = entries.remove(key);
+        if (size != null) {
+          totalBytes -= size;
+        }
+      }
+      return null;
+    } catch (IOException e) {
+      log.warn("Failed to read cached object, falling back to MinIO: {}", key, e);
+      return null;
+    }
+  }
+
+  /**
+   * 받는 중인 파일에 공간을 예약합니다. 모자라면 오래된 캐시 파일을 삭제하며,
+   * 캐시를 모두 비워도 다른 예약과 합쳐 {@code max-bytes}를 넘으면 예약하지 않습니다.
+   *
+   * @return 예약했으면 true
+   */
+  private boolean reserve(long bytes) {
+    synchronized (entries) {
+      if (reservedBytes + bytes > cacheProperties.getMaxBytes()) {
+        return false;
+      }
+      reservedBytes += bytes;
+      evict();
+      return true;
+    }
+  }
+
+  private void release(long bytes) {
+    synchronized (entries) {
+      reservedBytes -= bytes;
+    }
+  }
+
+  /**
+   * 끝까지 읽은 임시 파일을 캐시로 옮기고 예약을 실제 크기로 바꿉니다. 그 사이 {@link #invalidate}되었으면 버립니다.
+   */
+  private void commit(String key, Object token, Path temp, long size, long reserved) {
+    synchronized (entries) {
+      reservedBytes -= reserved;
+      if (!pendingLoads.remove(key, token)) {
+        deleteQuietly(temp);
+        return;
+      }
+      try {
+        Files.move(temp, directory.resolve(key), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+        log.warn("Failed to store cached object: {}", key, e);
+        deleteQuietly(temp);
+        return;
+      }
+      register(key, size);
+    }
+  }
+
+  private void register(String key, long size) {
+    synchronized (entries) {
+      Long previous = entries.put(key, size);
+      totalBytes += size - (previous != null ? previous : 0);
+      evict();
+    }
+  }
+
+  /**
+   * entries 잠금을 잡은 상태에서 호출해야 합니다. 받는 중인 파일의 예약도 포함해 한도를 계산합니다.
+   * 열려 있는 파일은 삭제 후에도 끝까지 읽을 수 있습니다.
+   */
+  private void evict() {
+    Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+    while (totalBytes + reservedBytes > cacheProperties.getMaxBytes() && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      iterator.remove();
+      totalBytes -= eldest.getValue();
+      deleteQuietly(directory.resolve(eldest.getKey()));
+    }
+  }
+
+  private long totalBytes() {
+    synchronized (entries) {
+      return totalBytes;
+    }
+  }
+
+  /**
+   * 원본 스트림을 읽는 대로 임시 파일에 복사하는 스트림.
+   */
+  private class CachingInputStream extends FilterInputStream {
+
+    private final String key;
+    private final Object token;
+    private final Path temp;
+    private final OutputStream out;
+    private long size;
+    private long reserved;
+    private boolean caching = true;
+    private boolean eof;
+
+    CachingInputStream(InputStream in, String key, Object token, Path temp, OutputStream out, long reserved) {
+      super(in);
+      this.key = key;
+      this.token = token;
+      this.temp = temp;
+      this.out = out;
+      this.reserved = reserved;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b == -1) {
+        eof = true;
+      } else if (caching) {
+        copy(new byte[] { (byte) b }, 0, 1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      if (n == -1) {
+        eof = true;
+      } else if (n > 0 && caching) {
+        copy(b, off, n);
+      }
+      return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      abandon();
+      return super.skip(n);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        if (caching) {
+          caching = false;
+          if (closeOut() && eof) {
+            commit(key, token, temp, size, reserved);
+          } else {
+            pendingLoads.remove(key, token);
+            release(reserved);
+            deleteQuietly(temp);
+          }
+        }
+      }
+    }
+
+    private void copy(byte[] b, int off, int len) {
+      size += len;
+      if (size > reserved) {
+        if (!reserve(size - reserved)) {
+          abandon();
+          return;
+        }
+        reserved = size;
+      }
+      try {
+        out.write(b, off, len);
+      } catch (IOException e) {
+        log.warn("Failed to write cache file, continuing without caching: {}", key, e);
+        abandon();
+      }
+    }
+
+    private void abandon() {
+      if (caching) {
+        caching = false;
+        closeOut();
+        pendingLoads.remove(key, token);
+        release(reserved);
+        deleteQuietly(temp);
+      }
+    }
+
+    private boolean closeOut() {
+      try {
+        out.close();
+        return true;
+      } catch (IOException e) {
+        log.warn("Failed to close cache file: {}", temp, e);
+        return false;
+      }
+    }
+  }
+
+  /**
+   * 객체 이름의 '/' 등을 파일명에 쓸 수 있도록 인코딩합니다.
+   */
+  private static String toKey(String objectName) {
+    return URLEncoder.encode(objectName, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * MinIO 응답이면 Content-Length를, 크기를 알 수 없으면 -1을 반환합니다.
+   */
+  private static long contentLength(InputStream source) {
+    if (source instanceof GetObjectResponse response) {
+      String length = response.headers().get("Content-Length");
+      if (length != null) {
+        try {
+          return Long.parseLong(length);
+        } catch (NumberFormatException e) {
+          return -1;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static long lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file).toMillis();
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Failed to delete cache file: {}", file, e);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package com.saltlux.filedepot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 임베딩 서버를 거치지 않는 로컬 청커. embedkit chunk API와 같이 청크는 최대 {@code size} 토큰,
+ * 이웃한 청크는 최대 {@code overlap} 토큰을 겹칩니다.
+ *
+ * <p>
+ * 텍스트를 문장 단위(줄바꿈, {@code . ! ? 。 …} 뒤 공백)로 나눈 뒤 한도까지 이어 붙이며,
+ * 한도에 걸렸을 때 청크 후반부에 문단 경계(빈 줄)가 있으면 그곳에서 자릅니다.
+ * {@code overlap}보다 긴 문장은 단어 단위로, 그보다 긴 단어는 글자 단위로 나눕니다.
+ * 구간은 원문 인덱스로만 다루고 청크를 만들 때만 문자열을 복사합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalTextChunker {
+
+  private final TokenCounter tokenCounter;
+
+  public List<String> chunk(CharSequence text, int size, int overlap) {
+    if (size <= 0 || overlap < 0 || overlap >= size) {
+      throw new IllegalArgumentException("Invalid chunking: size=" + size + ", overlap=" + overlap);
+    }
+
+    int pieceLimit = overlap > 0 ? overlap : size;
+    List<Unit> units = segment(text, pieceLimit);
+    List<String> chunks = new ArrayList<>();
+
+    int first = 0;
+    while (first < units.size()) {
+      int tokens = 0;
+      int end = first;
+      int paragraphEnd = -1;
+      while (end < units.size() && (end == first || tokens + units.get(end).tokens() <= size)) {
+        tokens += units.get(end).tokens();
+        if (units.get(end).paragraphEnd() && tokens >= size / 2) {
+          paragraphEnd = end + 1;
+        }
+        end++;
+      }
+      if (end < units.size() && paragraphEnd > 0) {
+        end = paragraphEnd;
+      }
+
+      String chunk = text.subSequence(units.get(first).start(), units.get(end - 1).end()).toString().strip();
+      if (!chunk.isEmpty()) {
+        chunks.add(chunk);
+      }
+      if (end >= units.size()) {
+        break;
+      }
+
+      int next = end;
+      int overlapTokens = 0;
+      while (next - 1 > first && overlapTokens + units.get(next - 1).tokens() <= overlap) {
+        overlapTokens += units.get(next - 1).tokens();
+        next--;
+      }
+      first = next;
+    }
+    return chunks;
+  }
+
+  private List<Unit> segment(CharSequence text, int pieceLimit) {
+    List<Unit> units = new ArrayList<>();
+    int length = text.length();
+    int start = 0;
+    int i = 0;
+    while (i < length) {
+      char c = text.charAt(i);
+      boolean lineEnd = c == '\n';
+      boolean sentenceEnd = isTerminator(c) && (i + 1 == length || Character.isWhitespace(text.charAt(i + 1)));
+      i++;
+      if (!lineEnd && !sentenceEnd) {
+        continue;
+      }
+
+      int newlines = lineEnd ? 1 : 0;
+      while (i < length && Character.isWhitespace(text.charAt(i))) {
+        if (text.charAt(i) == '\n') {
+          newlines++;
+        }
+        i++;
+      }
+      addUnit(units, text, start, i, newlines >= 2, pieceLimit);
+      start = i;
+    }
+    if (start < length) {
+      addUnit(units, text, start, length, true, pieceLimit);
+    }
+    return units;
+  }
+
+  /**
+   * 문장 하나를 추가합니다. {@code pieceLimit} 토큰을 넘으면 단어 단위로 나눕니다.
+   */
+  private void addUnit(List<Unit> units, CharSequence text, int start, int end, boolean paragraphEnd,
+      int pieceLimit) {
+    int tokens = tokenCounter.count(text, start, end);
+    if (tokens <= pieceLimit) {
+      units.add(new Unit(start, end, tokens, paragraphEnd));
+      return;
+    }
+
+    int pieceStart = start;
+    int pieceTokens = 0;
+    int i = start;
+    while (i < end) {
+      int wordStart = i;
+      while (i < end && Character.isWhitespace(text.charAt(i))) {
+        i++;
+      }
+      while (i < end && !Character.isWhitespace(text.charAt(i))) {
+        i++;
+      }
+      int wordTokens = tokenCounter.count(text, wordStart, i);
+
+      if (wordTokens > pieceLimit) {
+        if (pieceStart < wordStart) {
+          units.add(new Unit(pieceStart, wordStart, pieceTokens, false));
+        }
+        splitWord(units, text, wordStart, i, wordTokens, pieceLimit);
+        pieceStart = i;
+        pieceTokens = 0;
+      } else if (pieceTokens + wordTokens > pieceLimit) {
+        units.add(new Unit(pieceStart, wordStart, pieceTokens, false));
+        pieceStart = wordStart;
+        pieceTokens = wordTokens;
+      } else {
+        pieceTokens += wordTokens;
+      }
+    }
+    if (pieceStart < end) {
+      units.add(new Unit(pieceStart, end, pieceTokens, paragraphEnd));
+    } else if (!units.isEmpty() && paragraphEnd) {
+      Unit last = units.remove(units.size() - 1);
+      units.add(new Unit(last.start(), last.end(), last.tokens(), true));
+    }
+  }
+
+  private void splitWord(List<Unit> units, CharSequence text, int start, int end, int tokens, int pieceLimit) {
+    int pieceStart = start;
+    while (pieceStart < end) {
+      int pieceEnd = Math.min(end, pieceStart + Math.max(1, (int) ((long) (end - start) * pieceLimit / tokens)));
+      int pieceTokens = tokenCounter.count(text, pieceStart, pieceEnd);
+      while (pieceTokens > pieceLimit && pieceEnd - pieceStart > 1) {
+        pieceEnd = pieceStart + (pieceEnd - pieceStart) * 3 / 4;
+        pieceTokens = tokenCounter.count(text, pieceStart, pieceEnd);
+      }
+      if (pieceEnd < end && Character.isHighSurrogate(text.charAt(pieceEnd - 1)) && pieceEnd - pieceStart > 1) {
+        pieceEnd--;
+        pieceTokens = tokenCounter.count(text, pieceStart, pieceEnd);
+      }
+      units.add(new Unit(pieceStart, pieceEnd, pieceTokens, false));
+      pieceStart = pieceEnd;
+    }
+  }
+
+  private static boolean isTerminator(char c) {
+    return c == '.' || c == '!' || c == '?' || c == '。' || c == '！' || c == '？' || c == '…';
+  }
+
+  private record Unit(int start, int end, int tokens, boolean paragraphEnd) {
+  }
+}
@@ -0,0 +1,59 @@
+package com.saltlux.filedepot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+
+import io.minio.MinioAsyncClient;
+import io.minio.messages.ListPartsResult;
+import io.minio.messages.Part;
+
+/**
+ * MinIO multipart upload API. {@link io.minio.MinioClient} keeps these S3 calls protected,
+ * so they are exposed here for the presigned multipart upload flow.
+ */
+public class MultipartMinioClient extends MinioAsyncClient {
+
+  private static final int LIST_PARTS_PAGE_SIZE = 1000;
+
+  public MultipartMinioClient(MinioAsyncClient client) {
+    super(client);
+  }
+
+  public String initiate(String bucket, String objectName, String contentType) throws Exception {
+    Multimap<String, String> headers = HashMultimap.create();
+    if (contentType != null && !contentType.isBlank()) {
+      headers.put("Content-Type", contentType);
+    }
+    return createMultipartUploadAsync(bucket, null, objectName, headers, null)
+        .get()
+        .result()
+        .uploadId();
+  }
+
+  public List<Part> listUploadedParts(String bucket, String objectName, String uploadId) throws Exception {
+    List<Part> parts = new ArrayList<>();
+    Integer partNumberMarker = null;
+    while (true) {
+      ListPartsResult result = listPartsAsync(
+          bucket, null, objectName, LIST_PARTS_PAGE_SIZE, partNumberMarker, uploadId, null, null)
+          .get()
+          .result();
+      parts.addAll(result.partList());
+      if (!result.isTruncated()) {
+        return parts;
+      }
+      partNumberMarker = result.nextPartNumberMarker();
+    }
+  }
+
+  public void complete(String bucket, String objectName, String uploadId, Part[] parts) throws Exception {
+    completeMultipartUploadAsync(bucket, null, objectName, uploadId, parts, null, null).get();
+  }
+
+  public void abort(String bucket, String objectName, String uploadId) throws Exception {
+    abortMultipartUploadAsync(bucket, null, objectName, uploadId, null, null).get();
+  }
+}
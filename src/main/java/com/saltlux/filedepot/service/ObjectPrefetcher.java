@@ -0,0 +1,136 @@
+package com.saltlux.filedepot.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.saltlux.filedepot.entity.StorageItem;
+
+/**
+ * 순서가 정해진 객체 목록을 앞에서부터 미리 읽어 둡니다.
+ * 최대 {@code prefetchCount}개의 객체를 동시에 가져오며, 버퍼링된 바이트 합계는 {@code byteBudget}을
+ * 넘지 않습니다. 예산보다 큰 객체는 버퍼링하지 않고 차례가 되었을 때 바로 스트리밍합니다.
+ * 스레드 안전하지 않으며, 하나의 소비자 스레드에서 {@link #next()}를 순서대로 호출해야 합니다.
+ */
+public class ObjectPrefetcher implements AutoCloseable {
+
+  private final StorageClient storageClient;
+  private final Executor executor;
+  private final List<StorageItem> items;
+  private final int prefetchCount;
+  private final long byteBudget;
+
+  private final Deque<PendingObject> pending = new ArrayDeque<>();
+  private int nextToSchedule;
+  private long bufferedBytes;
+  private PendingObject current;
+
+  public ObjectPrefetcher(StorageClient storageClient, Executor executor, List<StorageItem> items,
+      int prefetchCount, long byteBudget) {
+    this.storageClient = storageClient;
+    this.executor = executor;
+    this.items = items;
+    this.prefetchCount = Math.max(1, prefetchCount);
+    this.byteBudget = byteBudget;
+  }
+
+  public boolean hasNext() {
+    return !pending.isEmpty() || nextToSchedule < items.size();
+  }
+
+  /**
+   * 다음 객체를 반환합니다. 이전에 반환한 객체의 버퍼는 이 호출 시점에 예산에서 해제됩니다.
+   */
+  public PrefetchedObject next() {
+    release();
+    schedule();
+
+    PendingObject next = pending.poll();
+    if (next == null) {
+      throw new NoSuchElementException();
+    }
+    current = next;
+    schedule();
+
+    byte[] content = next.future() != null ? next.future().join() : null;
+    return new PrefetchedObject(next.item(), content);
+  }
+
+  private void schedule() {
+    while (pending.size() < prefetchCount && nextToSchedule < items.size()) {
+      StorageItem item = items.get(nextToSchedule);
+      long size = item.getSize();
+
+      if (size > byteBudget) {
+        pending.add(new PendingObject(item, 0, null));
+      } else if (bufferedBytes + size <= byteBudget) {
+        bufferedBytes += size;
+        String uuid = item.getUuid();
+        pending.add(new PendingObject(item, size,
+            CompletableFuture.supplyAsync(() -> storageClient.getObjectBytes(uuid), executor)));
+      } else {
+        return;
+      }
+      nextToSchedule++;
+    }
+  }
+
+  private void release() {
+    if (current != null) {
+      bufferedBytes -= current.reservedBytes();
+      current = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    for (PendingObject object : pending) {
+      if (object.future() != null) {
+        object.future().cancel(false);
+      }
+    }
+    pending.clear();
+    current = null;
+  }
+
+  private record PendingObject(StorageItem item, long reservedBytes, CompletableFuture<byte[]> future) {
+  }
+
+  public class PrefetchedObject {
+
+    private final StorageItem item;
+    private final byte[] content;
+
+    private PrefetchedObject(StorageItem item, byte[] content) {
+      this.item = item;
+      this.content = content;
+    }
+
+    public StorageItem item() {
+      return item;
+    }
+
+    /**
+     * 미리 읽어 둔 내용, 버퍼링하지 않은 큰 객체면 null
+     */
+    public byte[] content() {
+      return content;
+    }
+
+    public void transferTo(OutputStream out) throws IOException {
+      if (content != null) {
+        out.write(content);
+        return;
+      }
+      try (InputStream in = storageClient.getObject(item.getUuid())) {
+        in.transferTo(out);
+      }
+    }
+  }
+}
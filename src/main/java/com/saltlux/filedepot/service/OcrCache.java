@@ -0,0 +1,171 @@
+package com.saltlux.filedepot.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.config.FileDepotProperties.ParsekitProperties.OcrCacheProperties;
+import com.saltlux.filedepot.entity.OcrResult;
+import com.saltlux.filedepot.repository.OcrResultRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이미지 내용 해시 + VLM 모델 기준 OCR 결과 캐시.
+ * 메모리 LRU 계층({@code memory-max-size}개)과 DB 계층(ocr_result)으로 구성되며,
+ * 반복되는 서식·직인·로고 이미지를 다시 VLM에 보내지 않습니다.
+ */
+@Slf4j
+@Component
+public class OcrCache {
+
+  private static final String DEFAULT_MODEL = "default";
+
+  private final FileDepotProperties properties;
+  private final OcrCacheProperties cacheProperties;
+  private final OcrResultRepository ocrResultRepository;
+  private final Map<String, String> entries;
+  private final Counter memoryHits;
+  private final Counter persistentHits;
+  private final Counter misses;
+  private final Counter savedSeconds;
+  private final Timer ocrTimer;
+
+  public OcrCache(FileDepotProperties properties, OcrResultRepository ocrResultRepository,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.cacheProperties = properties.getParsekit().getVlm().getCache();
+    this.ocrResultRepository = ocrResultRepository;
+    int maxSize = cacheProperties.getMemoryMaxSize();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+        return size() > maxSize;
+      }
+    };
+    this.memoryHits = Counter.builder("filedepot.ocr.cache.requests")
+        .tag("result", "memory-hit")
+        .register(meterRegistry);
+    this.persistentHits = Counter.builder("filedepot.ocr.cache.requests")
+        .tag("result", "db-hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder("filedepot.ocr.cache.requests")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    this.savedSeconds = Counter.builder("filedepot.ocr.cache.saved.seconds")
+        .description("Estimated VLM time saved by cache hits, based on the mean OCR latency")
+        .register(meterRegistry);
+    this.ocrTimer = Timer.builder("filedepot.ocr.latency")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 캐시된 OCR 결과를 반환하거나, 없으면 {@code ocr}를 호출해 결과를 저장합니다.
+   *
+   * @param imageHash 이미지 바이트의 SHA-256 (hex), {@link #hash(byte[])}
+   */
+  public String get(String imageHash, Supplier<String> ocr) {
+    if (!cacheProperties.isEnabled()) {
+      return ocrTimer.record(ocr);
+    }
+
+    String model = model();
+    String key = imageHash + ":" + model;
+
+    String cached;
+    synchronized (entries) {
+      cached = entries.get(key);
+    }
+    if (cached != null) {
+      memoryHits.increment();
+      recordSaved();
+      return cached;
+    }
+
+    Optional<String> persisted = findPersisted(imageHash, model);
+    if (persisted.isPresent()) {
+      persistentHits.increment();
+      recordSaved();
+      remember(key, persisted.get());
+      return persisted.get();
+    }
+
+    misses.increment();
+    String text = ocrTimer.record(ocr);
+    if (text != null) {
+      remember(key, text);
+      persist(imageHash, model, text);
+    }
+    return text;
+  }
+
+  public static String hash(byte[] image) {
+    return hash(image, 0, image.length);
+  }
+
+  public static String hash(byte[] image, int offset, int length) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(image, offset, length);
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private String model() {
+    String model = properties.getParsekit().getVlm().getModel();
+    return model == null || model.isBlank() ? DEFAULT_MODEL : model;
+  }
+
+  private Optional<String> findPersisted(String imageHash, String model) {
+    if (!cacheProperties.isPersistent()) {
+      return Optional.empty();
+    }
+    try {
+      return ocrResultRepository.findByImageHashAndModel(imageHash, model).map(OcrResult::getContent);
+    } catch (DataAccessException e) {
+      log.warn("Failed to read OCR cache, calling VLM: hash={}", imageHash, e);
+      return Optional.empty();
+    }
+  }
+
+  private void persist(String imageHash, String model, String text) {
+    if (!cacheProperties.isPersistent()) {
+      return;
+    }
+    try {
+      ocrResultRepository.save(new OcrResult(imageHash, model, text));
+    } catch (DataIntegrityViolationException e) {
+      log.debug("OCR result stored concurrently: hash={}", imageHash);
+    } catch (DataAccessException e) {
+      log.warn("Failed to store OCR result: hash={}", imageHash, e);
+    }
+  }
+
+  private void remember(String key, String text) {
+    synchronized (entries) {
+      entries.put(key, text);
+    }
+  }
+
+  private void recordSaved() {
+    double meanSeconds = ocrTimer.mean(TimeUnit.SECONDS);
+    if (meanSeconds > 0) {
+      savedSeconds.increment(meanSeconds);
+    }
+  }
+}
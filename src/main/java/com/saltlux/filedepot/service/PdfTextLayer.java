@@ -0,0 +1,129 @@
+package com.saltlux.filedepot.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+/**
+ * PDFBox로 연 PDF의 페이지별 텍스트 레이어와 렌더링.
+ * 디지털로 생성된 페이지는 텍스트 레이어를 그대로 쓰고, 스캔본처럼 보이는 페이지만 렌더링해 OCR합니다.
+ * {@link #renderPng}와 {@link #close()}는 여러 스레드에서 호출할 수 있으며 한 번에 하나씩 실행됩니다.
+ * 나머지 메서드는 한 스레드에서만 사용해야 합니다.
+ */
+final class PdfTextLayer implements AutoCloseable {
+
+  private final PDDocument document;
+  private final PDFTextStripper stripper;
+  private final PDFRenderer renderer;
+  private boolean closed;
+
+  private PdfTextLayer(PDDocument document) throws IOException {
+    this.document = document;
+    this.stripper = new PDFTextStripper();
+    this.stripper.setSortByPosition(true);
+    this.renderer = new PDFRenderer(document);
+  }
+
+  /**
+   * 임시 파일로 내려간 입력은 파일에서 바로 열어 힙에 다시 올리지 않습니다.
+   */
+  static PdfTextLayer open(ExtractionInput input) throws IOException {
+    PDDocument document = input.isSpilled()
+        ? Loader.loadPDF(input.spillFile().toFile())
+        : Loader.loadPDF(input.toBytes());
+    try {
+      return new PdfTextLayer(document);
+    } catch (IOException | RuntimeException e) {
+      document.close();
+      throw e;
+    }
+  }
+
+  int pageCount() {
+    return document.getNumberOfPages();
+  }
+
+  /**
+   * @param page 1부터 시작하는 페이지 번호
+   */
+  String text(int page) throws IOException {
+    stripper.setStartPage(page);
+    stripper.setEndPage(page);
+    return stripper.getText(document);
+  }
+
+  /**
+   * 텍스트 레이어를 쓸 수 있는 페이지의 텍스트를 {@code pageTexts}에 넣고, OCR이 필요한 페이지 번호를 순서대로 반환합니다.
+   * 이미 {@code pageTexts}에 있는 페이지(체크포인트)는 건너뜁니다.
+   */
+  List<Integer> fillFromTextLayer(Map<Integer, String> pageTexts, int minChars, double minQualityRatio)
+      throws IOException {
+    List<Integer> ocrPages = new ArrayList<>();
+    for (int page = 1; page <= pageCount(); page++) {
+      if (pageTexts.containsKey(page)) {
+        continue;
+      }
+      String text = text(page);
+      if (isUsable(text, minChars, minQualityRatio)) {
+        pageTexts.put(page, text.strip());
+      } else {
+        ocrPages.add(page);
+      }
+    }
+    return ocrPages;
+  }
+
+  /**
+   * @param page 1부터 시작하는 페이지 번호
+   */
+  synchronized byte[] renderPng(int page, int dpi) throws IOException {
+    if (closed) {
+      throw new IOException("PDF is already closed");
+    }
+    BufferedImage image = renderer.renderImageWithDPI(page - 1, dpi, ImageType.RGB);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(image, "png", out);
+    return out.toByteArray();
+  }
+
+  /**
+   * 텍스트 레이어를 OCR 대신 써도 되는지 판단합니다.
+   * 공백을 제외한 글자가 {@code minChars} 이상이고, 그중 글자·숫자·문장부호 비율이
+   * {@code minQualityRatio} 이상이어야 합니다. 글꼴 매핑이 깨진 PDF는 대체 문자(U+FFFD),
+   * 사용자 정의 영역, 제어 문자가 섞여 나오므로 비율 조건에서 걸러집니다.
+   */
+  static boolean isUsable(String text, int minChars, double minQualityRatio) {
+    int[] codePoints = text.codePoints().filter(c -> !Character.isWhitespace(c)).toArray();
+    long readable = Arrays.stream(codePoints).filter(PdfTextLayer::isReadable).count();
+    return codePoints.length >= minChars && readable >= codePoints.length * minQualityRatio;
+  }
+
+  private static boolean isReadable(int codePoint) {
+    if (codePoint == 0xFFFD) {
+      return false;
+    }
+    return switch (Character.getType(codePoint)) {
+      case Character.CONTROL, Character.PRIVATE_USE, Character.UNASSIGNED, Character.SURROGATE,
+          Character.FORMAT -> false;
+      default -> true;
+    };
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    closed = true;
+    document.close();
+  }
+}
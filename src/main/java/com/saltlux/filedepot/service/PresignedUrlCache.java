@@ -0,0 +1,99 @@
+package com.saltlux.filedepot.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.config.FileDepotProperties.DownloadProperties.UrlCacheProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Presigned 다운로드 URL 캐시. 남은 유효 시간이 {@code min-remaining-seconds} 이상이면
+ * 기존 URL을 그대로 반환하고, 만료가 가까워진 경우에만 다시 서명합니다.
+ * 최대 {@code max-size}개까지 보관하며 가장 오래 사용되지 않은 항목부터 제거합니다.
+ */
+@Component
+public class PresignedUrlCache {
+
+  private final UrlCacheProperties cacheProperties;
+  private final Map<String, CachedUrl> entries;
+  private final Counter hits;
+  private final Counter misses;
+
+  public PresignedUrlCache(FileDepotProperties properties, MeterRegistry meterRegistry) {
+    this.cacheProperties = properties.getDownload().getUrlCache();
+    int maxSize = cacheProperties.getMaxSize();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedUrl> eldest) {
+        return size() > maxSize;
+      }
+    };
+    this.hits = Counter.builder("filedepot.download.url.cache.requests")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder("filedepot.download.url.cache.requests")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("filedepot.download.url.cache.size", this, PresignedUrlCache::size)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 캐시된 URL을 반환하거나, 없거나 만료가 가까우면 {@code signer}로 새로 서명해 캐시합니다.
+   */
+  public PresignedUrl get(String uuid, int expirySeconds, Function<String, String> signer) {
+    Instant now = Instant.now();
+
+    if (cacheProperties.isEnabled()) {
+      CachedUrl cached;
+      synchronized (entries) {
+        cached = entries.get(uuid);
+      }
+      if (cached != null) {
+        long remainingSeconds = Duration.between(now, cached.expiresAt()).getSeconds();
+        if (remainingSeconds >= cacheProperties.getMinRemainingSeconds()) {
+          hits.increment();
+          return new PresignedUrl(cached.url(), (int) remainingSeconds);
+        }
+      }
+      misses.increment();
+    }
+
+    String url = signer.apply(uuid);
+
+    if (cacheProperties.isEnabled()) {
+      synchronized (entries) {
+        entries.put(uuid, new CachedUrl(url, now.plusSeconds(expirySeconds)));
+      }
+    }
+    return new PresignedUrl(url, expirySeconds);
+  }
+
+  public void invalidate(Collection<String> uuids) {
+    synchronized (entries) {
+      uuids.forEach(entries::remove);
+    }
+  }
+
+  private int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public record PresignedUrl(String url, int expiresIn) {
+  }
+
+  private record CachedUrl(String url, Instant expiresAt) {
+  }
+}
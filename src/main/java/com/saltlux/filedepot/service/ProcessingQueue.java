@@ -1,7 +1,9 @@
 package com.saltlux.filedepot.service;
 
+import java.util.List;
 import java.util.concurrent.Executor;
 
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 
 import com.saltlux.filedepot.config.FileDepotProperties;
@@ -30,10 +32,38 @@ public class ProcessingQueue {
     log.info("Submitted file for processing: {}", uuid);
   }
 
+  /**
+   * Submits several files at once. Files rejected because the queue is full stay PENDING
+   * and are picked up by the retry batch job.
+   */
+  public void submitAll(List<String> uuids) {
+    if (!isParsingEnabled()) {
+      log.debug("Parsing is disabled, skipping processing for {} files", uuids.size());
+      return;
+    }
+
+    int submitted = 0;
+    for (String uuid : uuids) {
+      try {
+        executor.execute(() -> processAsync(uuid));
+        submitted++;
+      } catch (TaskRejectedException e) {
+        log.warn("Processing queue is full, leaving {} files for the retry job", uuids.size() - submitted);
+        break;
+      }
+    }
+    log.info("Submitted {} files for processing", submitted);
+  }
+
   private void processAsync(String uuid) {
     log.info("[{}] Starting async processing pipeline. Embedding enabled: {}", uuid, isEmbeddingEnabled());
 
     try {
+      if (processingService.reuseDuplicate(uuid)) {
+        log.info("[{}] Identical file already processed, reused its results", uuid);
+        return;
+      }
+
       // Step 1: Extract
       log.info("[{}] Step 1/3: Starting extraction...", uuid);
       processingService.extract(uuid);
@@ -55,6 +85,8 @@ public class ProcessingQueue {
 
       log.info("[{}] Processing pipeline completed successfully", uuid);
 
+    } catch (ClientUnavailableException e) {
+      log.warn("[{}] Processing pipeline deferred, left for the retry job: {}", uuid, e.getMessage());
     } catch (Exception e) {
       log.error("[{}] Processing pipeline FAILED at some step: {}", uuid, e.getMessage(), e);
     }
@@ -1,6 +1,12 @@
 package com.saltlux.filedepot.service;
 
-import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,8 +15,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import com.saltlux.embedkit.TextEmbeddingClient;
-import com.saltlux.embedkit.payload.ChunkResult;
-import com.saltlux.embedkit.payload.EmbeddingResult;
 import com.saltlux.filedepot.config.FileDepotProperties;
 import com.saltlux.filedepot.config.FileDepotProperties.EmbedKitProvider;
 import com.saltlux.filedepot.config.FileDepotProperties.ParsekitScenario;
@@ -20,6 +24,7 @@ import com.saltlux.filedepot.entity.ProcessingStep;
 import com.saltlux.filedepot.entity.StorageItem;
 import com.saltlux.filedepot.repository.ChunkRepository;
 import com.saltlux.filedepot.repository.ExtractedContentRepository;
+import com.saltlux.filedepot.repository.PageOcrResultRepository;
 import com.saltlux.filedepot.repository.StorageItemRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -33,13 +38,76 @@ public class ProcessingService {
   private final StorageItemRepository storageItemRepository;
   private final ExtractedContentRepository extractedContentRepository;
   private final ChunkRepository chunkRepository;
+  private final PageOcrResultRepository pageOcrResultRepository;
   private final TextExtractor textExtractor;
+  private final ClientGuards clientGuards;
+  private final LocalTextChunker localTextChunker;
+  private final EmbeddingBatcher embeddingBatcher;
+  private final EmbeddingCodec embeddingCodec;
   private final FileDepotProperties properties;
   private final TransactionTemplate transactionTemplate;
 
   @Autowired(required = false)
   private TextEmbeddingClient textEmbeddingClient;
 
+  /**
+   * 같은 content hash를 가진 처리 완료 파일이 있으면 추출 결과와 청크(임베딩 포함)를 복제하여
+   * 추출/청킹/임베딩을 건너뜁니다. PENDING 상태의 파일에만 적용됩니다.
+   *
+   * @return 처리 결과를 복제했으면 true
+   */
+  public boolean reuseDuplicate(String uuid) {
+    Boolean reused = transactionTemplate.execute(status -> {
+      StorageItem item = storageItemRepository.findByUuidAndDeletedFalse(uuid).orElse(null);
+      if (item == null || item.getContentHash() == null || item.getProcessingStep() != ProcessingStep.PENDING) {
+        return false;
+      }
+
+      boolean embeddingEnabled = isEmbeddingEnabled();
+      ProcessingStep completedStep = embeddingEnabled ? ProcessingStep.EMBEDDED : ProcessingStep.EXTRACTED;
+      List<ProcessingStep> sourceSteps = embeddingEnabled
+          ? List.of(ProcessingStep.EMBEDDED)
+          : List.of(ProcessingStep.EXTRACTED, ProcessingStep.EMBEDDED);
+
+      StorageItem source = storageItemRepository
+          .findFirstByContentHashAndProcessingStepInAndDeletedFalseAndUuidNot(item.getContentHash(), sourceSteps, uuid)
+          .orElse(null);
+      if (source == null) {
+        return false;
+      }
+
+      String content = extractedContentRepository.findByStorageItemUuid(source.getUuid())
+          .map(ExtractedContent::getContent)
+          .orElse(null);
+      if (content == null) {
+        return false;
+      }
+
+      saveExtractedContent(uuid, content);
+
+      if (embeddingEnabled) {
+        chunkRepository.deleteByUuid(uuid);
+        List<Chunk> chunks = chunkRepository.findByUuidOrderByChunkIndexAsc(source.getUuid()).stream()
+            .map(chunk -> Chunk.builder()
+                .uuid(uuid)
+                .chunkIndex(chunk.getChunkIndex())
+                .content(chunk.getContent())
+                .embedding(chunk.getEmbedding())
+                .build())
+            .toList();
+        chunkRepository.insertAll(chunks);
+      }
+
+      item.updateStep(completedStep);
+      item.resetRetryCount();
+      storageItemRepository.save(item);
+
+      log.info("Reused processing results of identical file: {} -> {}", source.getUuid(), uuid);
+      return true;
+    });
+    return Boolean.TRUE.equals(reused);
+  }
+
   public void extract(String uuid) {
     if (!isParsingEnabled()) {
       throw new IllegalStateException("Parsing is not enabled");
@@ -56,10 +124,12 @@ public class ProcessingService {
 
     ProcessingStep previousStep = ProcessingStep.PENDING;
 
+    Path textFile = null;
     try {
-      String extractedText = textExtractor.extract(uuid, item.getContentType());
+      textFile = createTextFile(uuid);
+      long extractedSize = extractToFile(uuid, item.getContentType(), textFile);
 
-      if (extractedText == null || extractedText.isEmpty()) {
+      if (extractedSize == 0) {
         log.warn("No text extracted from file: {}", uuid);
         transactionTemplate.executeWithoutResult(status -> {
           item.updateStep(previousStep);
@@ -68,8 +138,10 @@ public class ProcessingService {
         return;
       }
 
+      Path extractedFile = textFile;
       transactionTemplate.executeWithoutResult(status -> {
-        saveExtractedContent(uuid, extractedText);
+        saveExtractedContent(item, extractedFile, extractedSize);
+        pageOcrResultRepository.deleteByUuid(uuid);
         StorageItem current = storageItemRepository.findByUuid(uuid).orElseThrow();
         current.updateStep(ProcessingStep.EXTRACTED);
         current.resetRetryCount();
@@ -77,10 +149,16 @@ public class ProcessingService {
       });
       log.info("Extraction completed for file: {}", uuid);
 
+    } catch (ClientUnavailableException e) {
+      log.warn("Extraction deferred for file {}: {}", uuid, e.getMessage());
+      park(uuid, previousStep);
+      throw e;
     } catch (Exception e) {
       log.error("Extraction failed for file: {}", uuid, e);
       handleFailure(uuid, previousStep);
       throw e;
+    } finally {
+      deleteTextFile(textFile);
     }
   }
 
@@ -112,14 +190,15 @@ public class ProcessingService {
       transactionTemplate.executeWithoutResult(status -> {
         chunkRepository.deleteByUuid(uuid);
 
+        List<Chunk> entities = new ArrayList<>(chunks.size());
         for (int i = 0; i < chunks.size(); i++) {
-          Chunk chunk = Chunk.builder()
+          entities.add(Chunk.builder()
               .uuid(uuid)
               .chunkIndex(i)
               .content(chunks.get(i))
-              .build();
-          chunkRepository.save(chunk);
+              .build());
         }
+        chunkRepository.insertAll(entities);
 
         item.updateStep(ProcessingStep.CHUNKED);
         item.resetRetryCount();
@@ -127,6 +206,10 @@ public class ProcessingService {
       });
       log.info("Chunking completed for file: {} ({} chunks)", uuid, chunks.size());
 
+    } catch (ClientUnavailableException e) {
+      log.warn("Chunking deferred for file {}: {}", uuid, e.getMessage());
+      park(uuid, previousStep);
+      throw e;
     } catch (Exception e) {
       log.error("Chunking failed for file: {}", uuid, e);
       handleFailure(uuid, previousStep);
@@ -167,21 +250,30 @@ public class ProcessingService {
           .map(Chunk::getContent)
           .toList();
 
-      List<EmbeddingResult> results = textEmbeddingClient.embed(texts);
+      List<List<Float>> embeddings = embeddingBatcher.embed(texts);
 
-      transactionTemplate.executeWithoutResult(status -> {
-        for (EmbeddingResult result : results) {
-          Chunk content = contents.get(result.index());
-          content.updateEmbedding(toBytes(result.embedding()));
-          chunkRepository.save(content);
+      List<Chunk> embedded = new ArrayList<>(contents.size());
+      for (int i = 0; i < contents.size(); i++) {
+        if (embeddings.get(i) != null) {
+          Chunk content = contents.get(i);
+          content.updateEmbedding(embeddingCodec.encode(embeddings.get(i)));
+          embedded.add(content);
         }
+      }
+
+      transactionTemplate.executeWithoutResult(status -> {
+        chunkRepository.updateEmbeddings(embedded);
 
         item.updateStep(ProcessingStep.EMBEDDED);
         item.resetRetryCount();
         storageItemRepository.save(item);
       });
-      log.info("Embedding completed for file: {} ({} chunks)", uuid, results.size());
+      log.info("Embedding completed for file: {} ({} chunks)", uuid, embedded.size());
 
+    } catch (ClientUnavailableException e) {
+      log.warn("Embedding deferred for file {}: {}", uuid, e.getMessage());
+      park(uuid, previousStep);
+      throw e;
     } catch (Exception e) {
       log.error("Embedding failed for file: {}", uuid, e);
       handleFailure(uuid, previousStep);
@@ -189,6 +281,17 @@ public class ProcessingService {
     }
   }
 
+  /**
+   * 하위 서비스가 호출을 거절한 경우 재시도 횟수를 올리지 않고 이전 단계로 되돌립니다.
+   */
+  private void park(String uuid, ProcessingStep previousStep) {
+    transactionTemplate.executeWithoutResult(status -> {
+      StorageItem item = storageItemRepository.findByUuid(uuid).orElseThrow();
+      item.updateStep(previousStep);
+      storageItemRepository.save(item);
+    });
+  }
+
   private void handleFailure(String uuid, ProcessingStep previousStep) {
     transactionTemplate.executeWithoutResult(status -> {
       StorageItem item = storageItemRepository.findByUuid(uuid).orElseThrow();
@@ -216,11 +319,69 @@ public class ProcessingService {
     log.info("Saved extracted content for file: {} ({} chars)", uuid, text.length());
   }
 
+  /**
+   * 추출 결과를 받을 임시 파일을 추출 입력 임시 디렉터리에 만듭니다.
+   */
+  private Path createTextFile(String uuid) {
+    Path directory = Path.of(properties.getProcessing().getExtraction().getSpillDirectory());
+    try {
+      Files.createDirectories(directory);
+      return Files.createTempFile(directory, "extracted-" + uuid + "-", ".txt");
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to create extracted text file: " + uuid, e);
+    }
+  }
+
+  /**
+   * 추출 결과를 String으로 만들지 않고 임시 파일에 UTF-8로 씁니다.
+   *
+   * @return 추출된 텍스트 크기(바이트)
+   */
+  private long extractToFile(String uuid, String contentType, Path textFile) {
+    try {
+      try (Writer out = Files.newBufferedWriter(textFile, StandardCharsets.UTF_8)) {
+        textExtractor.extract(uuid, contentType, out);
+      }
+      return Files.size(textFile);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write extracted text: " + uuid, e);
+    }
+  }
+
+  /**
+   * 임시 파일의 추출 결과를 저장소로 스트리밍합니다.
+   */
+  private void saveExtractedContent(StorageItem item, Path textFile, long size) {
+    try (Reader content = Files.newBufferedReader(textFile, StandardCharsets.UTF_8)) {
+      extractedContentRepository.replaceContent(item.getId(), content);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read extracted text: " + item.getUuid(), e);
+    }
+
+    log.info("Saved extracted content for file: {} ({} bytes)", item.getUuid(), size);
+  }
+
+  private static void deleteTextFile(Path textFile) {
+    if (textFile == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(textFile);
+    } catch (IOException e) {
+      log.warn("Failed to delete extracted text file: {}", textFile, e);
+    }
+  }
+
   private List<String> chunkText(String text) {
-    int chunkSize = properties.getProcessing().getChunking().getSize();
-    int chunkOverlap = properties.getProcessing().getChunking().getOverlap();
-    ChunkResult result = textEmbeddingClient.chunk(text, chunkSize, chunkOverlap);
-    List<String> chunks = result.chunks();
+    var chunking = properties.getProcessing().getChunking();
+    int chunkSize = chunking.getSize();
+    int chunkOverlap = chunking.getOverlap();
+    List<String> chunks = switch (chunking.getStrategy()) {
+      case LOCAL -> localTextChunker.chunk(text, chunkSize, chunkOverlap);
+      case REMOTE -> clientGuards.embedding()
+          .call(() -> textEmbeddingClient.chunk(text, chunkSize, chunkOverlap))
+          .chunks();
+    };
 
     if (chunks == null || chunks.isEmpty()) {
       return List.of(text);
@@ -238,15 +399,4 @@ public class ProcessingService {
     EmbedKitProvider provider = properties.getEmbedkit().getProvider();
     return provider != EmbedKitProvider.NONE && textEmbeddingClient != null;
   }
-
-  private byte[] toBytes(List<Float> embedding) {
-    if (embedding == null || embedding.isEmpty()) {
-      return null;
-    }
-    ByteBuffer buffer = ByteBuffer.allocate(embedding.size() * 4);
-    for (Float f : embedding) {
-      buffer.putFloat(f);
-    }
-    return buffer.array();
-  }
 }
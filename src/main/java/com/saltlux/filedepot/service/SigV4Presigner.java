@@ -0,0 +1,165 @@
+package com.saltlux.filedepot.service;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * S3 Signature V4 query-string presigner.
+ *
+ * The derived signing key only depends on the date, region and service, so it is computed
+ * once per day and shared by every URL signed afterwards. Batch signing additionally reuses
+ * a single {@link Mac} and {@link MessageDigest} for all URLs.
+ */
+public class SigV4Presigner {
+
+  private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+  private static final String HMAC_SHA256 = "HmacSHA256";
+  private static final String SERVICE = "s3";
+  private static final String TERMINATOR = "aws4_request";
+  private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter
+      .ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+  private static final DateTimeFormatter AMZ_DATE_FORMAT = DateTimeFormatter
+      .ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final String baseUrl;
+  private final String host;
+  private final String region;
+  private final String accessKey;
+  private final String secretKey;
+
+  private volatile SigningKey signingKey;
+
+  public SigV4Presigner(String endpoint, String region, String accessKey, String secretKey) {
+    URI uri = URI.create(endpoint);
+    int port = uri.getPort();
+    boolean defaultPort = port == -1
+        || ("http".equalsIgnoreCase(uri.getScheme()) && port == 80)
+        || ("https".equalsIgnoreCase(uri.getScheme()) && port == 443);
+    this.host = defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    this.baseUrl = uri.getScheme() + "://" + this.host;
+    this.region = region;
+    this.accessKey = accessKey;
+    this.secretKey = secretKey;
+  }
+
+  public String presign(String method, String bucket, String objectName, int expirySeconds,
+      Map<String, String> extraQueryParams) {
+    return presignAll(method, bucket, List.of(objectName), expirySeconds, extraQueryParams).get(0);
+  }
+
+  public List<String> presignAll(String method, String bucket, List<String> objectNames, int expirySeconds) {
+    return presignAll(method, bucket, objectNames, expirySeconds, Map.of());
+  }
+
+  public List<String> presignAll(String method, String bucket, List<String> objectNames, int expirySeconds,
+      Map<String, String> extraQueryParams) {
+    Instant now = Instant.now();
+    String dateStamp = DATE_FORMAT.format(now);
+    String amzDate = AMZ_DATE_FORMAT.format(now);
+    String scope = dateStamp + "/" + region + "/" + SERVICE + "/" + TERMINATOR;
+
+    Map<String, String> query = new TreeMap<>(extraQueryParams);
+    query.put("X-Amz-Algorithm", ALGORITHM);
+    query.put("X-Amz-Credential", accessKey + "/" + scope);
+    query.put("X-Amz-Date", amzDate);
+    query.put("X-Amz-Expires", Integer.toString(expirySeconds));
+    query.put("X-Amz-SignedHeaders", "host");
+    String canonicalQuery = toCanonicalQuery(query);
+
+    try {
+      Mac mac = Mac.getInstance(HMAC_SHA256);
+      mac.init(new SecretKeySpec(signingKey(dateStamp), HMAC_SHA256));
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+
+      List<String> urls = new ArrayList<>(objectNames.size());
+      for (String objectName : objectNames) {
+        String canonicalUri = "/" + encode(bucket, true) + "/" + encode(objectName, false);
+        String canonicalRequest = method + "\n"
+            + canonicalUri + "\n"
+            + canonicalQuery + "\n"
+            + "host:" + host + "\n\n"
+            + "host\n"
+            + UNSIGNED_PAYLOAD;
+        String stringToSign = ALGORITHM + "\n"
+            + amzDate + "\n"
+            + scope + "\n"
+            + HEX.formatHex(sha256.digest(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+        String signature = HEX.formatHex(mac.doFinal(stringToSign.getBytes(StandardCharsets.UTF_8)));
+
+        urls.add(baseUrl + canonicalUri + "?" + canonicalQuery + "&X-Amz-Signature=" + signature);
+      }
+      return urls;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to sign presigned URL", e);
+    }
+  }
+
+  private byte[] signingKey(String dateStamp) throws GeneralSecurityException {
+    SigningKey current = signingKey;
+    if (current != null && current.dateStamp().equals(dateStamp)) {
+      return current.key();
+    }
+
+    byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+    key = hmac(key, region);
+    key = hmac(key, SERVICE);
+    key = hmac(key, TERMINATOR);
+    signingKey = new SigningKey(dateStamp, key);
+    return key;
+  }
+
+  private static byte[] hmac(byte[] key, String data) throws GeneralSecurityException {
+    Mac mac = Mac.getInstance(HMAC_SHA256);
+    mac.init(new SecretKeySpec(key, HMAC_SHA256));
+    return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String toCanonicalQuery(Map<String, String> sortedQuery) {
+    StringBuilder sb = new StringBuilder();
+    for (Map.Entry<String, String> entry : sortedQuery.entrySet()) {
+      if (!sb.isEmpty()) {
+        sb.append('&');
+      }
+      sb.append(encode(entry.getKey(), true)).append('=').append(encode(entry.getValue(), true));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * S3 URI encoding: unreserved characters are kept, everything else is percent-encoded.
+   * Slashes are kept as-is in object keys.
+   */
+  private static String encode(String value, boolean encodeSlash) {
+    StringBuilder sb = new StringBuilder(value.length());
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      char c = (char) (b & 0xFF);
+      if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+          || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encodeSlash)) {
+        sb.append(c);
+      } else {
+        sb.append('%').append(Character.toUpperCase(Character.forDigit((c >> 4) & 0xF, 16)))
+            .append(Character.toUpperCase(Character.forDigit(c & 0xF, 16)));
+      }
+    }
+    return sb.toString();
+  }
+
+  private record SigningKey(String dateStamp, byte[] key) {
+  }
+}
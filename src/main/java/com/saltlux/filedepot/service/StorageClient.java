@@ -1,21 +1,40 @@
 package com.saltlux.filedepot.service;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import org.springframework.stereotype.Component;
 
 import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.dto.CompletedPart;
 
 import io.minio.BucketExistsArgs;
 import io.minio.GetObjectArgs;
 import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListObjectsArgs;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
 import io.minio.StatObjectArgs;
 import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
 import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import io.minio.messages.Part;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,11 +44,20 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class StorageClient {
 
+  private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
   private final MinioClient minioClient;
+  private final MultipartMinioClient multipartMinioClient;
   private final FileDepotProperties properties;
+  private final LocalObjectCache localObjectCache;
+
+  private SigV4Presigner presigner;
 
   @PostConstruct
   public void init() {
+    var minio = properties.getMinio();
+    presigner = new SigV4Presigner(minio.getUrl(), minio.getRegion(), minio.getAccessKey(), minio.getSecretKey());
+
     try {
       ensureBucketExists();
     } catch (Exception e) {
@@ -52,7 +80,17 @@ public class StorageClient {
     }
   }
 
+  /**
+   * 객체를 읽습니다. 로컬 캐시가 켜져 있으면 캐시를 거쳐 읽고, 없으면 MinIO에서 받아 캐시합니다.
+   */
   public InputStream getObject(String objectName) {
+    if (localObjectCache.isEnabled()) {
+      return localObjectCache.open(objectName, () -> fetchObject(objectName));
+    }
+    return fetchObject(objectName);
+  }
+
+  private InputStream fetchObject(String objectName) {
     try {
       return minioClient.getObject(
           GetObjectArgs.builder()
@@ -65,6 +103,62 @@ public class StorageClient {
     }
   }
 
+  /**
+   * 로컬 디스크 캐시에 있는 객체 사본을 버립니다. presigned PUT 등 서버를 거치지 않고 객체가 바뀌었을 수 있을 때 호출합니다.
+   */
+  public void invalidateLocalCopy(String objectName) {
+    localObjectCache.invalidate(objectName);
+  }
+
+  /**
+   * 객체의 일부 구간을 읽습니다.
+   *
+   * @param offset 시작 바이트 위치
+   * @param length 읽을 바이트 수
+   */
+  public InputStream getObject(String objectName, long offset, long length) {
+    try {
+      return minioClient.getObject(
+          GetObjectArgs.builder()
+              .bucket(properties.getMinio().getBucket())
+              .object(objectName)
+              .offset(offset)
+              .length(length)
+              .build());
+    } catch (Exception e) {
+      log.error("Failed to get object range from MinIO: {} ({}+{})", objectName, offset, length, e);
+      throw new RuntimeException("Failed to get object range from MinIO", e);
+    }
+  }
+
+  /**
+   * 스트림을 MinIO에 그대로 업로드합니다. MinIO 클라이언트는 한 번에 파트 하나만 버퍼링하므로
+   * 메모리 사용량은 파일 크기와 무관하게 {@code streamPartSize}로 고정됩니다.
+   *
+   * @param size 객체 크기, 알 수 없으면 -1
+   */
+  public void putObject(String objectName, InputStream stream, long size, String contentType) {
+    try {
+      PutObjectArgs.Builder builder = PutObjectArgs.builder()
+          .bucket(properties.getMinio().getBucket())
+          .object(objectName)
+          .stream(stream, size, properties.getUpload().getStreamPartSize());
+      if (contentType != null && !contentType.isBlank()) {
+        builder.contentType(contentType);
+      }
+      minioClient.putObject(builder.build());
+      localObjectCache.invalidate(objectName);
+      log.debug("Uploaded object to MinIO: {}", objectName);
+    } catch (Exception e) {
+      log.error("Failed to put object to MinIO: {}", objectName, e);
+      throw new RuntimeException("Failed to put object to MinIO", e);
+    }
+  }
+
+  public void putObject(String objectName, byte[] content, String contentType) {
+    putObject(objectName, new ByteArrayInputStream(content), content.length, contentType);
+  }
+
   public byte[] getObjectBytes(String objectName) {
     try (InputStream stream = getObject(objectName)) {
       return stream.readAllBytes();
@@ -74,6 +168,24 @@ public class StorageClient {
     }
   }
 
+  /**
+   * 객체를 스트리밍으로 읽어 SHA-256 해시(hex)를 계산합니다.
+   */
+  public String computeSha256(String objectName) {
+    try (InputStream stream = getObject(objectName)) {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] buffer = new byte[HASH_BUFFER_SIZE];
+      int read;
+      while ((read = stream.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (IOException | NoSuchAlgorithmException e) {
+      log.error("Failed to compute object hash: {}", objectName, e);
+      throw new RuntimeException("Failed to compute object hash", e);
+    }
+  }
+
   public void removeObject(String objectName) {
     try {
       minioClient.removeObject(
@@ -81,6 +193,7 @@ public class StorageClient {
               .bucket(properties.getMinio().getBucket())
               .object(objectName)
               .build());
+      localObjectCache.invalidate(objectName);
       log.debug("Removed object from MinIO: {}", objectName);
     } catch (Exception e) {
       log.error("Failed to remove object from MinIO: {}", objectName, e);
@@ -88,6 +201,73 @@ public class StorageClient {
     }
   }
 
+  /**
+   * 접두사로 시작하는 모든 객체를 삭제합니다.
+   *
+   * @return 삭제한 객체 수
+   */
+  public int removeObjects(String prefix) {
+    String bucket = properties.getMinio().getBucket();
+    try {
+      List<String> objectNames = new ArrayList<>();
+      for (Result<Item> result : minioClient.listObjects(
+          ListObjectsArgs.builder().bucket(bucket).prefix(prefix).recursive(true).build())) {
+        objectNames.add(result.get().objectName());
+      }
+      if (objectNames.isEmpty()) {
+        return 0;
+      }
+
+      List<DeleteObject> objects = objectNames.stream().map(DeleteObject::new).toList();
+      for (Result<DeleteError> result : minioClient.removeObjects(
+          RemoveObjectsArgs.builder().bucket(bucket).objects(objects).build())) {
+        DeleteError error = result.get();
+        log.warn("Failed to remove object from MinIO: {} ({})", error.objectName(), error.message());
+      }
+      objectNames.forEach(localObjectCache::invalidate);
+      log.debug("Removed {} objects from MinIO with prefix: {}", objectNames.size(), prefix);
+      return objectNames.size();
+    } catch (Exception e) {
+      log.error("Failed to remove objects from MinIO: {}", prefix, e);
+      throw new RuntimeException("Failed to remove objects from MinIO", e);
+    }
+  }
+
+  /**
+   * 객체가 있는지 확인합니다.
+   */
+  public boolean objectExists(String objectName) {
+    try {
+      minioClient.statObject(
+          StatObjectArgs.builder()
+              .bucket(properties.getMinio().getBucket())
+              .object(objectName)
+              .build());
+      return true;
+    } catch (ErrorResponseException e) {
+      if ("NoSuchKey".equals(e.errorResponse().code())) {
+        return false;
+      }
+      log.error("Failed to check object in MinIO: {}", objectName, e);
+      throw new RuntimeException("Failed to check object in MinIO", e);
+    } catch (Exception e) {
+      log.error("Failed to check object in MinIO: {}", objectName, e);
+      throw new RuntimeException("Failed to check object in MinIO", e);
+    }
+  }
+
+  /**
+   * 예외(원인 포함)가 MinIO의 NoSuchKey 응답인지 확인합니다.
+   */
+  public static boolean isNoSuchKey(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ErrorResponseException response && "NoSuchKey".equals(response.errorResponse().code())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public StatObjectResponse statObject(String objectName) {
     try {
       return minioClient.statObject(
@@ -134,4 +314,105 @@ public class StorageClient {
       throw new RuntimeException("Failed to generate presigned download URL", e);
     }
   }
+
+  /**
+   * 여러 객체의 업로드 URL을 한 번에 서명합니다. 파생 서명 키를 재사용하므로 URL당 HMAC 한 번만 수행합니다.
+   */
+  public List<String> getPresignedUploadUrls(List<String> objectNames, int expirySeconds) {
+    try {
+      List<String> urls = presigner.presignAll(
+          Method.PUT.name(), properties.getMinio().getBucket(), objectNames, expirySeconds);
+      log.debug("Generated {} presigned upload URLs", urls.size());
+      return urls;
+    } catch (Exception e) {
+      log.error("Failed to generate presigned upload URLs: count={}", objectNames.size(), e);
+      throw new RuntimeException("Failed to generate presigned upload URLs", e);
+    }
+  }
+
+  public String createMultipartUpload(String objectName, String contentType) {
+    try {
+      String uploadId = multipartMinioClient.initiate(properties.getMinio().getBucket(), objectName, contentType);
+      log.debug("Created multipart upload: {}, uploadId={}", objectName, uploadId);
+      return uploadId;
+    } catch (Exception e) {
+      log.error("Failed to create multipart upload: {}", objectName, e);
+      throw new RuntimeException("Failed to create multipart upload", e);
+    }
+  }
+
+  public List<String> getPresignedPartUploadUrls(String objectName, String uploadId, List<Integer> partNumbers,
+      int expirySeconds) {
+    try {
+      String bucket = properties.getMinio().getBucket();
+      List<String> urls = partNumbers.stream()
+          .map(partNumber -> presigner.presign(Method.PUT.name(), bucket, objectName, expirySeconds,
+              Map.of("uploadId", uploadId, "partNumber", partNumber.toString())))
+          .toList();
+      log.debug("Generated {} presigned part upload URLs for: {}", urls.size(), objectName);
+      return urls;
+    } catch (Exception e) {
+      log.error("Failed to generate presigned part upload URLs: {}", objectName, e);
+      throw new RuntimeException("Failed to generate presigned part upload URLs", e);
+    }
+  }
+
+  /**
+   * MinIO에 업로드된 파트 목록이 클라이언트가 보낸 파트 목록과 일치할 때만 멀티파트 업로드를 완료합니다.
+   * 누락되었거나 아직 전송 중인 파트가 있으면 잘린 객체가 만들어지지 않도록 완료하지 않습니다.
+   *
+   * @throws IllegalStateException 업로드된 파트의 번호나 ETag가 기대한 목록과 다른 경우
+   */
+  public void completeMultipartUpload(String objectName, String uploadId, List<CompletedPart> expectedParts) {
+    String bucket = properties.getMinio().getBucket();
+    List<Part> parts;
+    try {
+      parts = multipartMinioClient.listUploadedParts(bucket, objectName, uploadId);
+    } catch (Exception e) {
+      log.error("Failed to list multipart upload parts: {}", objectName, e);
+      throw new RuntimeException("Failed to list multipart upload parts", e);
+    }
+
+    if (parts.isEmpty()) {
+      throw new IllegalStateException("No parts uploaded for: " + objectName);
+    }
+    List<Part> sorted = parts.stream().sorted(Comparator.comparingInt(Part::partNumber)).toList();
+    if (sorted.size() != expectedParts.size()) {
+      throw new IllegalStateException("Expected " + expectedParts.size() + " parts but " + sorted.size()
+          + " are uploaded for: " + objectName);
+    }
+    for (int i = 0; i < sorted.size(); i++) {
+      Part uploaded = sorted.get(i);
+      CompletedPart expected = expectedParts.get(i);
+      if (uploaded.partNumber() != expected.partNumber()) {
+        throw new IllegalStateException("Part " + expected.partNumber() + " is not uploaded for: " + objectName);
+      }
+      if (!normalizeEtag(uploaded.etag()).equals(normalizeEtag(expected.etag()))) {
+        throw new IllegalStateException("ETag mismatch for part " + expected.partNumber() + " of: " + objectName);
+      }
+    }
+
+    try {
+      multipartMinioClient.complete(bucket, objectName, uploadId, sorted.toArray(Part[]::new));
+      localObjectCache.invalidate(objectName);
+      log.debug("Completed multipart upload: {} ({} parts)", objectName, sorted.size());
+    } catch (Exception e) {
+      log.error("Failed to complete multipart upload: {}", objectName, e);
+      throw new RuntimeException("Failed to complete multipart upload", e);
+    }
+  }
+
+  private static String normalizeEtag(String etag) {
+    return etag.replace("\"", "").trim().toLowerCase(Locale.ROOT);
+  }
+
+  public void abortMultipartUpload(String objectName, String uploadId) {
+    try {
+      multipartMinioClient.abort(properties.getMinio().getBucket(), objectName, uploadId);
+      log.debug("Aborted multipart upload: {}", objectName);
+    } catch (Exception e) {
+      log.error("Failed to abort multipart upload: {}", objectName, e);
+      throw new RuntimeException("Failed to abort multipart upload", e);
+    }
+  }
 }
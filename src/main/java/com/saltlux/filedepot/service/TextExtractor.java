@@ -1,14 +1,37 @@
 package com.saltlux.filedepot.service;
 
-import java.util.Base64;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
 import com.saltlux.filedepot.config.FileDepotProperties;
 import com.saltlux.filedepot.config.FileDepotProperties.ParsekitScenario;
+import com.saltlux.filedepot.entity.PageOcrResult;
+import com.saltlux.filedepot.repository.PageOcrResultRepository;
+import com.saltlux.filedepot.service.Base64ImageScanner.ImageSpan;
+import com.saltlux.filedepot.service.DerivedArtifactStore.PageImage;
+import com.saltlux.filedepot.service.extractor.ContentExtractor;
+import com.saltlux.filedepot.service.extractor.ContentExtractorRegistry;
+import com.saltlux.filedepot.service.extractor.PlainTextExtractor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +39,6 @@ import me.hanju.parsekit.ConverterClient;
 import me.hanju.parsekit.docling.DoclingClient;
 import me.hanju.parsekit.payload.ConvertResult;
 import me.hanju.parsekit.payload.ImageConvertResult;
-import me.hanju.parsekit.payload.ImagePage;
 import me.hanju.parsekit.payload.ParseResult;
 import me.hanju.parsekit.vlm.VlmClient;
 
@@ -25,11 +47,17 @@ import me.hanju.parsekit.vlm.VlmClient;
 @RequiredArgsConstructor
 public class TextExtractor {
 
-  private static final Pattern BASE64_IMAGE_PATTERN = Pattern
-      .compile("!\\[Image\\]\\(data:image/([^;]+);base64,([^)]+)\\)");
-
   private final StorageClient storageClient;
   private final FileDepotProperties properties;
+  private final OcrCache ocrCache;
+  private final DerivedArtifactStore derivedArtifactStore;
+  private final PageOcrResultRepository pageOcrResultRepository;
+  private final ContentExtractorRegistry contentExtractorRegistry;
+  private final PlainTextExtractor plainTextExtractor;
+  private final ClientGuards clientGuards;
+
+  @Qualifier("ocrExecutor")
+  private final Executor ocrExecutor;
 
   @Autowired(required = false)
   private ConverterClient converterClient;
@@ -41,7 +69,8 @@ public class TextExtractor {
   private VlmClient vlmClient;
 
   /**
-   * MinIO에서 파일을 가져와 텍스트를 추출합니다.
+   * MinIO에서 파일을 가져와 텍스트를 추출합니다. 결과 전체를 String으로 만들므로 작은 문서에만 쓰고,
+   * 처리 파이프라인은 {@link #extract(String, String, Writer)}를 사용합니다.
    *
    * @param uuid 파일 UUID
    * @param contentType 파일 MIME 타입
@@ -49,71 +78,379 @@ public class TextExtractor {
    * @throws IllegalStateException parsekit이 비활성화된 경우
    */
   public String extract(String uuid, String contentType) {
+    StringWriter out = new StringWriter();
+    extract(uuid, contentType, out);
+    return out.toString();
+  }
+
+  /**
+   * MinIO에서 파일을 가져와 추출한 텍스트를 {@code out}에 씁니다.
+   * 결과를 String으로 만들지 않으므로 base64 이미지가 많은 큰 마크다운도 출력 사본 없이 내보냅니다.
+   *
+   * @param uuid 파일 UUID
+   * @param contentType 파일 MIME 타입
+   * @param out 추출 결과를 받을 Writer. 닫지 않습니다.
+   * @throws IllegalStateException parsekit이 비활성화된 경우
+   * @throws UncheckedIOException {@code out}에 쓰지 못한 경우
+   */
+  public void extract(String uuid, String contentType, Writer out) {
+    try {
+      extractTo(uuid, contentType, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write extracted text: " + uuid, e);
+    }
+  }
+
+  private void extractTo(String uuid, String contentType, Writer out) throws IOException {
     ParsekitScenario scenario = properties.getParsekit().getScenario();
 
     if (scenario == ParsekitScenario.DISABLED) {
       throw new IllegalStateException("Parsekit is disabled");
     }
 
-    byte[] fileBytes = storageClient.getObjectBytes(uuid);
+    if (properties.getProcessing().getExtraction().isFastPath()) {
+      Optional<ContentExtractor> extractor = contentExtractorRegistry.find(contentType);
+      if (extractor.isPresent()) {
+        out.write(extractInProcess(uuid, contentType, extractor.get()));
+        return;
+      }
+    }
+
     String filename = uuid + getExtensionFromContentType(contentType);
 
-    return switch (scenario) {
-      case SCENARIO1 -> extractTextScenario1(fileBytes, filename, contentType, uuid);
-      case SCENARIO2 -> extractTextScenario2(fileBytes, filename, contentType, uuid);
+    switch (scenario) {
+      case SCENARIO1 -> extractTextScenario1(filename, contentType, uuid, out);
+      case SCENARIO2 -> extractTextScenario2(filename, contentType, uuid, out);
       default -> throw new IllegalStateException("Unknown scenario: " + scenario);
-    };
+    }
+  }
+
+  /**
+   * 이미 텍스트인 형식은 변환기/VLM 없이 MinIO 스트림에서 바로 추출합니다.
+   * JSON/XML처럼 구조를 해석하는 추출기가 실패하면(잘못된 content type, 잘린 파일 등) 재시도를 소모하지 않도록
+   * 원문을 일반 텍스트로 추출합니다.
+   */
+  private String extractInProcess(String uuid, String contentType, ContentExtractor extractor) {
+    try (InputStream stream = storageClient.getObject(uuid)) {
+      String text = extractor.extract(stream, contentType);
+      log.info("Fast path: Extracted {} characters from file {} ({})", text.length(), uuid,
+          extractor.getClass().getSimpleName());
+      return text;
+    } catch (IOException e) {
+      if (extractor == plainTextExtractor) {
+        throw new UncheckedIOException("Failed to extract text in process: " + uuid, e);
+      }
+      log.warn("Fast path: {} failed for file {}, extracting as plain text: {}",
+          extractor.getClass().getSimpleName(), uuid, e.getMessage());
+      return extractInProcess(uuid, contentType, plainTextExtractor);
+    }
+  }
+
+  /**
+   * 원본을 스트리밍으로 읽습니다. 임계값을 넘는 파일은 힙 대신 임시 파일에 두고,
+   * MinIO 연결은 변환을 시작하기 전에 닫습니다.
+   */
+  private ExtractionInput openInput(String uuid) {
+    var extraction = properties.getProcessing().getExtraction();
+    try (InputStream stream = storageClient.getObject(uuid)) {
+      ExtractionInput input = ExtractionInput.from(stream, extraction.getSpillThreshold(),
+          Path.of(extraction.getSpillDirectory()));
+      log.debug("Loaded extraction input: uuid={}, size={}, spilled={}", uuid, input.size(), input.isSpilled());
+      return input;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read extraction input: " + uuid, e);
+    }
   }
 
-  private String extractTextScenario1(byte[] fileBytes, String filename, String contentType, String uuid) {
-    ConvertResult pdfResult = converterClient.convert(fileBytes, filename, contentType);
-    log.debug("Scenario1: Converted to PDF: {} bytes, converted={}", pdfResult.size(), pdfResult.converted());
+  private void extractTextScenario1(String filename, String contentType, String uuid, Writer out)
+      throws IOException {
+    ConvertedPdf pdf = convertToPdf(filename, contentType, uuid);
 
-    ParseResult doclingResult = doclingClient.parse(pdfResult.content(), pdfResult.filename());
+    ParseResult doclingResult = clientGuards.docling().call(() -> doclingClient.parse(pdf.content(), pdf.filename()));
     String markdown = doclingResult.asMarkdown();
 
+    long length;
     if (vlmClient != null && vlmClient.isAvailable()) {
-      markdown = processBase64Images(markdown);
+      length = processBase64Images(markdown, out);
+    } else {
+      out.write(markdown);
+      length = markdown.length();
     }
 
-    log.info("Scenario1: Extracted {} characters from file {}", markdown.length(), uuid);
-    return markdown;
+    log.info("Scenario1: Extracted {} characters from file {}", length, uuid);
   }
 
-  private String extractTextScenario2(byte[] fileBytes, String filename, String contentType, String uuid) {
-    ImageConvertResult imagesResult = converterClient.convertToImages(fileBytes, filename, contentType, "png", 150);
-    log.debug("Scenario2: Converted to {} images", imagesResult.totalPages());
+  /**
+   * byte[]만 받는 parsekit 클라이언트에 넘길 입력을 엽니다. 호출 중에는 파일 전체가 힙에 올라가므로
+   * {@code max-client-input-size}를 넘는 파일은 내려받기 전에 거절합니다.
+   *
+   * @throws IllegalStateException 파일이 한도보다 큰 경우
+   */
+  private ExtractionInput openClientInput(String uuid) {
+    long maxSize = properties.getProcessing().getExtraction().getMaxClientInputSize();
+    checkClientInputSize(uuid, storageClient.statObject(uuid).size(), maxSize);
+    ExtractionInput input = openInput(uuid);
+    try {
+      checkClientInputSize(uuid, input.size(), maxSize);
+      return input;
+    } catch (RuntimeException e) {
+      input.close();
+      throw e;
+    }
+  }
+
+  private static void checkClientInputSize(String uuid, long size, long maxSize) {
+    if (size > maxSize) {
+      throw new IllegalStateException(
+          "File " + uuid + " is " + size + " bytes, above max-client-input-size " + maxSize);
+    }
+  }
 
-    StringBuilder result = new StringBuilder();
-    for (ImagePage page : imagesResult.pages()) {
-      String ocrText = vlmClient.ocr(page.content());
-      result.append("## 페이지 ").append(page.page()).append("\n\n");
-      result.append(ocrText).append("\n\n");
+  /**
+   * 이전 시도에서 저장한 변환 PDF가 있으면 재사용하고, 없으면 원본을 받아 변환합니다.
+   */
+  private ConvertedPdf convertToPdf(String filename, String contentType, String uuid) {
+    Optional<byte[]> stored = derivedArtifactStore.findConvertedPdf(uuid);
+    if (stored.isPresent()) {
+      return new ConvertedPdf(stored.get(), uuid + ".pdf");
     }
 
-    log.info("Scenario2: Extracted {} characters from {} pages for file {}",
-        result.length(), imagesResult.totalPages(), uuid);
-    return result.toString();
+    try (ExtractionInput input = openClientInput(uuid)) {
+      byte[] content = input.toBytes();
+      ConvertResult pdfResult = clientGuards.converter()
+          .call(() -> converterClient.convert(content, filename, contentType));
+      log.debug("Scenario1: Converted to PDF: {} bytes, converted={}", pdfResult.size(), pdfResult.converted());
+
+      if (pdfResult.converted()) {
+        derivedArtifactStore.saveConvertedPdf(uuid, pdfResult.content());
+      }
+      return new ConvertedPdf(pdfResult.content(), pdfResult.filename());
+    }
   }
 
-  private String processBase64Images(String markdown) {
-    Matcher matcher = BASE64_IMAGE_PATTERN.matcher(markdown);
-    StringBuilder result = new StringBuilder();
+  /**
+   * 페이지별 OCR 결과를 완료되는 대로 page_ocr_result에 체크포인트로 저장합니다.
+   * 재시도 시 저장된 페이지는 건너뛰고 남은 페이지만 OCR한 뒤 전체 마크다운을 조립합니다.
+   */
+  private void extractTextScenario2(String filename, String contentType, String uuid, Writer out)
+      throws IOException {
+    Map<Integer, String> pageTexts = new HashMap<>();
+    for (PageOcrResult checkpoint : pageOcrResultRepository.findByUuid(uuid)) {
+      pageTexts.put(checkpoint.getPageNumber(), checkpoint.getContent());
+    }
+    if (!pageTexts.isEmpty()) {
+      log.info("Scenario2: Resuming file {} from {} page checkpoints", uuid, pageTexts.size());
+    }
+
+    if (properties.getParsekit().getTextLayer().isEnabled() && "application/pdf".equals(contentType)) {
+      if (extractPdfWithTextLayer(uuid, pageTexts, out)) {
+        return;
+      }
+    }
+
+    int dpi = properties.getParsekit().getConverter().getImageDpi();
+    List<PageImage> pages = derivedArtifactStore.findPageImages(uuid, dpi)
+        .orElseGet(() -> convertToImages(filename, contentType, uuid, dpi));
+    log.debug("Scenario2: {} page images", pages.size());
+
+    List<PageImage> remaining = pages.stream()
+        .filter(page -> !pageTexts.containsKey(page.page()))
+        .toList();
+    List<CompletableFuture<String>> ocrResults = remaining.stream()
+        .map(page -> CompletableFuture.supplyAsync(() -> ocrPage(uuid, page), ocrExecutor))
+        .toList();
+    List<String> ocrTexts = joinAll(ocrResults);
+    for (int i = 0; i < remaining.size(); i++) {
+      pageTexts.put(remaining.get(i).page(), ocrTexts.get(i));
+    }
 
-    while (matcher.find()) {
-      String base64Data = matcher.group(2);
+    long length = assemblePages(pages.stream().map(PageImage::page).toList(), pageTexts, out);
+    log.info("Scenario2: Extracted {} characters from {} pages ({} OCR'd) for file {}",
+        length, pages.size(), remaining.size(), uuid);
+  }
+
+  /**
+   * 원본 PDF를 직접 열어 텍스트 레이어가 충분한 페이지는 그대로 사용하고,
+   * 스캔본처럼 보이는 페이지만 렌더링해 OCR합니다. 렌더링은 OCR 작업 안에서 작업이 실행될 때 하므로,
+   * 힙에 있는 페이지 이미지는 OCR 풀 크기만큼으로 제한되고 대기 중인 페이지는 번호만 차지합니다.
+   *
+   * @return PDF를 열 수 없으면(암호화, 손상 등) 아무것도 쓰지 않고 false — 변환기 경로로 처리합니다.
+   */
+  private boolean extractPdfWithTextLayer(String uuid, Map<Integer, String> pageTexts, Writer out)
+      throws IOException {
+    var textLayer = properties.getParsekit().getTextLayer();
+    int dpi = properties.getParsekit().getConverter().getImageDpi();
+
+    List<Integer> ocrPages = new ArrayList<>();
+    List<CompletableFuture<String>> ocrResults = new ArrayList<>();
+    List<String> ocrTexts;
+    int pageCount;
+    try (ExtractionInput input = openInput(uuid)) {
+      PdfTextLayer pdf;
       try {
-        byte[] imageBytes = Base64.getDecoder().decode(base64Data);
-        String ocrText = vlmClient.ocr(imageBytes);
-        matcher.appendReplacement(result, Matcher.quoteReplacement(ocrText));
-      } catch (Exception e) {
-        log.warn("이미지 OCR 처리 실패, 원본 유지: {}", e.getMessage());
-        matcher.appendReplacement(result, Matcher.quoteReplacement(matcher.group()));
+        pdf = PdfTextLayer.open(input);
+      } catch (IOException e) {
+        log.warn("Scenario2: Cannot open PDF text layer, using converter: {} ({})", uuid, e.getMessage());
+        return false;
       }
+
+      try (pdf) {
+        pageCount = pdf.pageCount();
+        ocrPages.addAll(pdf.fillFromTextLayer(pageTexts, textLayer.getMinChars(), textLayer.getMinQualityRatio()));
+        for (int page : ocrPages) {
+          ocrResults.add(CompletableFuture.supplyAsync(() -> ocrPage(uuid, renderPage(pdf, page, dpi)), ocrExecutor));
+        }
+        ocrTexts = joinAll(ocrResults);
+      }
+    } catch (IOException e) {
+      ocrResults.forEach(future -> future.cancel(false));
+      throw new UncheckedIOException("Failed to read PDF text layer: " + uuid, e);
+    } catch (RuntimeException e) {
+      ocrResults.forEach(future -> future.cancel(false));
+      throw e;
+    }
+
+    for (int i = 0; i < ocrPages.size(); i++) {
+      pageTexts.put(ocrPages.get(i), ocrTexts.get(i));
+    }
+
+    List<Integer> pages = IntStream.rangeClosed(1, pageCount).boxed().toList();
+    long length = assemblePages(pages, pageTexts, out);
+    log.info("Scenario2: Extracted {} characters from {} pages ({} OCR'd, rest from text layer) for file {}",
+        length, pageCount, ocrPages.size(), uuid);
+    return true;
+  }
+
+  private static PageImage renderPage(PdfTextLayer pdf, int page, int dpi) {
+    try {
+      return new PageImage(page, pdf.renderPng(page, dpi));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to render PDF page " + page, e);
     }
-    matcher.appendTail(result);
+  }
+
+  /**
+   * @return 쓴 문자 수
+   */
+  private static long assemblePages(List<Integer> pages, Map<Integer, String> pageTexts, Writer out)
+      throws IOException {
+    long length = 0;
+    for (int page : pages) {
+      String header = "## 페이지 " + page + "\n\n";
+      String text = pageTexts.get(page) + "\n\n";
+      out.write(header);
+      out.write(text);
+      length += header.length() + text.length();
+    }
+    return length;
+  }
 
-    return result.toString();
+  private String ocrPage(String uuid, PageImage page) {
+    String text = ocr(OcrCache.hash(page.content()), page.content());
+    try {
+      pageOcrResultRepository.save(new PageOcrResult(uuid, page.page(), text));
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Page checkpoint stored concurrently: uuid={}, page={}", uuid, page.page());
+    } catch (DataAccessException e) {
+      log.warn("Failed to store page checkpoint: uuid={}, page={}", uuid, page.page(), e);
+    }
+    return text;
+  }
+
+  private List<PageImage> convertToImages(String filename, String contentType, String uuid, int dpi) {
+    try (ExtractionInput input = openClientInput(uuid)) {
+      byte[] content = input.toBytes();
+      ImageConvertResult imagesResult = clientGuards.converter()
+          .call(() -> converterClient.convertToImages(content, filename, contentType, "png", dpi));
+      log.debug("Scenario2: Converted to {} images", imagesResult.totalPages());
+
+      List<PageImage> pages = imagesResult.pages().stream()
+          .map(page -> new PageImage(page.page(), page.content()))
+          .toList();
+      derivedArtifactStore.savePageImages(uuid, dpi, pages);
+      return pages;
+    }
+  }
+
+  /**
+   * 마크다운에 포함된 base64 이미지를 OCR 텍스트로 치환합니다.
+   * 같은 내용의 이미지(반복되는 로고, 머리글 등)는 한 번만 OCR하며, 요청은 OCR 풀에서 동시에 처리됩니다.
+   * OCR에 실패한 이미지는 원본을 유지합니다.
+   * 치환 결과는 {@code out}에 바로 쓰므로 힙에는 원본 마크다운과 OCR 텍스트만 남습니다.
+   *
+   * @return 쓴 문자 수
+   */
+  private long processBase64Images(String markdown, Writer out) throws IOException {
+    Base64ImageScanner scanner = new Base64ImageScanner(markdown);
+    List<ImageSpan> images = scanner.spans();
+    if (images.isEmpty()) {
+      out.write(markdown);
+      return markdown.length();
+    }
+
+    List<CompletableFuture<String>> ocrResults = new ArrayList<>(images.size());
+    Map<String, CompletableFuture<String>> ocrByHash = new HashMap<>();
+    for (ImageSpan image : images) {
+      ocrResults.add(submitImageOcr(scanner, image, ocrByHash));
+    }
+    List<String> ocrTexts = joinAll(ocrResults);
+
+    scanner.writeTo(ocrTexts, out);
+
+    log.debug("Processed {} embedded images ({} distinct)", images.size(), ocrByHash.size());
+    return scanner.outputLength(ocrTexts);
+  }
+
+  /**
+   * 이미지 OCR을 요청합니다. 실패하면 null로 완료되며, VLM이 거절한 경우({@link ClientUnavailableException})는
+   * 문서 전체를 보류하도록 그대로 실패합니다.
+   * 디코딩은 스캐너의 재사용 버퍼에 하고, 처음 보는 이미지만 OCR 요청용으로 복사합니다.
+   */
+  private CompletableFuture<String> submitImageOcr(Base64ImageScanner scanner, ImageSpan image,
+      Map<String, CompletableFuture<String>> ocrByHash) {
+    int length;
+    try {
+      length = scanner.decode(image);
+    } catch (IllegalArgumentException e) {
+      log.warn("이미지 OCR 처리 실패, 원본 유지: {}", e.getMessage());
+      return CompletableFuture.completedFuture(null);
+    }
+
+    byte[] buffer = scanner.buffer();
+    return ocrByHash.computeIfAbsent(OcrCache.hash(buffer, 0, length), hash -> {
+      byte[] imageBytes = Arrays.copyOf(buffer, length);
+      return CompletableFuture
+          .supplyAsync(() -> ocr(hash, imageBytes), ocrExecutor)
+          .exceptionally(e -> {
+            if (e.getCause() instanceof ClientUnavailableException unavailable) {
+              throw unavailable;
+            }
+            log.warn("이미지 OCR 처리 실패, 원본 유지: {}", e.getMessage());
+            return null;
+          });
+    });
+  }
+
+  private String ocr(String imageHash, byte[] image) {
+    return ocrCache.get(imageHash, () -> clientGuards.vlm().call(() -> vlmClient.ocr(image)));
+  }
+
+  private record ConvertedPdf(byte[] content, String filename) {
+  }
+
+  /**
+   * 모든 결과를 입력 순서대로 기다립니다. 하나라도 실패하면 나머지를 취소하고 원래 예외를 던집니다.
+   */
+  private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+    try {
+      return futures.stream().map(CompletableFuture::join).toList();
+    } catch (CompletionException e) {
+      futures.forEach(future -> future.cancel(false));
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
   }
 
   private String getExtensionFromContentType(String contentType) {
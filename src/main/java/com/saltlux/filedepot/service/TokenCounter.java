@@ -0,0 +1,282 @@
+package com.saltlux.filedepot.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltlux.filedepot.config.FileDepotProperties;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 청킹용 토큰 수 계산기.
+ * {@code tokenizer-path}의 HuggingFace tokenizer.json 어휘로 단어마다 최장 일치 분할을 해 토큰 수를 셉니다.
+ * WordPiece는 {@code BertNormalizer}(제어 문자 제거, 한자 분리, 악센트 제거, 소문자화)와
+ * {@code BertPreTokenizer}(문장부호 분리) 설정을 따라 적용하므로, 이 조합을 쓰는 토크나이저와 같은 수를
+ * 셉니다(특수 토큰 제외). 그 밖의 normalizer를 쓰는 WordPiece와 Unigram(SentencePiece)은 근사치입니다.
+ * 어휘가 없거나 지원하지 않는 모델(byte-level BPE 등)이면 문자 종류별 근사치를 사용합니다
+ * (한글·한자 1.5자, 그 밖의 글자·숫자 4자당 1토큰, 기호는 1토큰).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenCounter {
+
+  private static final String METASPACE = "▁";
+  private static final int DEFAULT_MAX_INPUT_CHARS_PER_WORD = 100;
+
+  private final FileDepotProperties properties;
+  private final ObjectMapper objectMapper;
+
+  private Vocabulary vocabulary;
+  private String wordPrefix = "";
+  private String continuationPrefix = "";
+  private int maxInputCharsPerWord = Integer.MAX_VALUE;
+  private boolean cleanText;
+  private boolean splitChineseChars;
+  private boolean stripAccents;
+  private boolean lowercase;
+  private boolean splitPunctuation;
+
+  @PostConstruct
+  void loadVocabulary() {
+    String path = properties.getProcessing().getChunking().getTokenizerPath();
+    if (path == null || path.isBlank()) {
+      log.info("No tokenizer configured, using approximate token counts for chunking");
+      return;
+    }
+
+    try (InputStream stream = Files.newInputStream(Path.of(path))) {
+      JsonNode tokenizer = objectMapper.readTree(stream);
+      JsonNode model = tokenizer.path("model");
+      String type = model.path("type").asText();
+      List<String> pieces = new ArrayList<>();
+      JsonNode vocab = model.path("vocab");
+      if (vocab.isObject()) {
+        Iterator<Map.Entry<String, JsonNode>> fields = vocab.fields();
+        while (fields.hasNext()) {
+          pieces.add(fields.next().getKey());
+        }
+      } else if (vocab.isArray()) {
+        vocab.forEach(entry -> pieces.add(entry.path(0).asText()));
+      }
+
+      switch (type) {
+        case "WordPiece" -> {
+          continuationPrefix = model.path("continuing_subword_prefix").asText("##");
+          maxInputCharsPerWord = model.path("max_input_chars_per_word").asInt(DEFAULT_MAX_INPUT_CHARS_PER_WORD);
+          configureBert(tokenizer.path("normalizer"), tokenizer.path("pre_tokenizer"), path);
+        }
+        case "Unigram" -> wordPrefix = METASPACE;
+        default -> {
+          log.warn("Unsupported tokenizer model type '{}', using approximate token counts: {}", type, path);
+          return;
+        }
+      }
+      vocabulary = new Vocabulary(pieces);
+      log.info("Loaded {} tokenizer vocabulary for chunking: {} pieces from {}", type, pieces.size(), path);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load tokenizer: " + path, e);
+    }
+  }
+
+  /**
+   * BERT 계열 normalizer와 pre-tokenizer 설정을 읽습니다. {@code strip_accents}가 null이면 {@code lowercase}를 따릅니다.
+   */
+  private void configureBert(JsonNode normalizer, JsonNode preTokenizer, String path) {
+    String normalizerType = normalizer.path("type").asText();
+    if ("BertNormalizer".equals(normalizerType)) {
+      cleanText = normalizer.path("clean_text").asBoolean(true);
+      splitChineseChars = normalizer.path("handle_chinese_chars").asBoolean(true);
+      lowercase = normalizer.path("lowercase").asBoolean(true);
+      JsonNode accents = normalizer.path("strip_accents");
+      stripAccents = accents.isBoolean() ? accents.asBoolean() : lowercase;
+    } else if (!normalizerType.isEmpty()) {
+      log.warn("Unsupported WordPiece normalizer '{}', token counts are approximate: {}", normalizerType, path);
+    }
+    splitPunctuation = "BertPreTokenizer".equals(preTokenizer.path("type").asText());
+  }
+
+  /**
+   * {@code text[start, end)}의 토큰 수. 공백으로 단어를 나누어 셉니다.
+   */
+  public int count(CharSequence text, int start, int end) {
+    int tokens = 0;
+    int i = start;
+    while (i < end) {
+      while (i < end && Character.isWhitespace(text.charAt(i))) {
+        i++;
+      }
+      int wordStart = i;
+      while (i < end && !Character.isWhitespace(text.charAt(i))) {
+        i++;
+      }
+      if (wordStart < i) {
+        tokens += vocabulary != null ? countWord(text, wordStart, i) : approximateWord(text, wordStart, i);
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * 문장부호와 한자는 한 글자씩 따로 단어가 됩니다. 정규화가 필요하면 조각마다 정규화한 문자열로 셉니다.
+   */
+  private int countWord(CharSequence text, int start, int end) {
+    if (!splitPunctuation && !splitChineseChars && !normalizes()) {
+      return countPieces(text, start, end);
+    }
+    int tokens = 0;
+    int pieceStart = start;
+    int i = start;
+    while (i < end) {
+      int codePoint = Character.codePointAt(text, i);
+      int next = i + Character.charCount(codePoint);
+      if ((splitPunctuation && isPunctuation(codePoint)) || (splitChineseChars && isChineseChar(codePoint))) {
+        tokens += countNormalized(text, pieceStart, i);
+        tokens += countNormalized(text, i, next);
+        pieceStart = next;
+      }
+      i = next;
+    }
+    return tokens + countNormalized(text, pieceStart, end);
+  }
+
+  private int countNormalized(CharSequence text, int start, int end) {
+    if (start == end) {
+      return 0;
+    }
+    if (!normalizes()) {
+      return countPieces(text, start, end);
+    }
+    String word = normalize(text.subSequence(start, end).toString());
+    return countPieces(word, 0, word.length());
+  }
+
+  private boolean normalizes() {
+    return cleanText || stripAccents || lowercase;
+  }
+
+  private String normalize(String word) {
+    if (cleanText) {
+      StringBuilder cleaned = new StringBuilder(word.length());
+      word.codePoints()
+          .filter(c -> c != 0 && c != 0xFFFD && Character.getType(c) != Character.CONTROL)
+          .forEach(cleaned::appendCodePoint);
+      word = cleaned.toString();
+    }
+    if (stripAccents) {
+      StringBuilder stripped = new StringBuilder(word.length());
+      Normalizer.normalize(word, Normalizer.Form.NFD).codePoints()
+          .filter(c -> Character.getType(c) != Character.NON_SPACING_MARK)
+          .forEach(stripped::appendCodePoint);
+      word = stripped.toString();
+    }
+    return lowercase ? word.toLowerCase(Locale.ROOT) : word;
+  }
+
+  private int countPieces(CharSequence text, int start, int end) {
+    if (Character.codePointCount(text, start, end) > maxInputCharsPerWord) {
+      return 1;
+    }
+    int tokens = 0;
+    int pos = start;
+    boolean first = true;
+    while (pos < end) {
+      String prefix = first ? wordPrefix : continuationPrefix;
+      int matched = longestMatch(prefix, text, pos, end);
+      if (matched < 0 && first && !wordPrefix.isEmpty()) {
+        // SentencePiece는 단어 앞 "▁"만 따로 토큰이 되기도 합니다.
+        tokens++;
+        first = false;
+        continue;
+      }
+      if (matched < 0) {
+        if (!continuationPrefix.isEmpty()) {
+          // WordPiece는 분할할 수 없는 단어 전체를 [UNK] 하나로 만듭니다.
+          return 1;
+        }
+        matched = pos + Character.charCount(Character.codePointAt(text, pos));
+      }
+      tokens++;
+      pos = matched;
+      first = false;
+    }
+    return tokens;
+  }
+
+  private int longestMatch(String prefix, CharSequence text, int start, int end) {
+    int limit = Math.min(end, start + vocabulary.maxPieceLength() - prefix.length());
+    for (int candidate = limit; candidate > start; candidate--) {
+      if (vocabulary.contains(prefix, text, start, candidate)) {
+        return candidate;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * ASCII 기호 전체와 유니코드 문장부호(P*).
+   */
+  private static boolean isPunctuation(int codePoint) {
+    if ((codePoint >= 33 && codePoint <= 47) || (codePoint >= 58 && codePoint <= 64)
+        || (codePoint >= 91 && codePoint <= 96) || (codePoint >= 123 && codePoint <= 126)) {
+      return true;
+    }
+    return switch (Character.getType(codePoint)) {
+      case Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION, Character.START_PUNCTUATION,
+          Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION, Character.FINAL_QUOTE_PUNCTUATION,
+          Character.OTHER_PUNCTUATION -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * BERT가 한 글자씩 분리하는 CJK 통합 한자 영역.
+   */
+  private static boolean isChineseChar(int codePoint) {
+    return (codePoint >= 0x4E00 && codePoint <= 0x9FFF)
+        || (codePoint >= 0x3400 && codePoint <= 0x4DBF)
+        || (codePoint >= 0x20000 && codePoint <= 0x2A6DF)
+        || (codePoint >= 0x2A700 && codePoint <= 0x2B73F)
+        || (codePoint >= 0x2B740 && codePoint <= 0x2B81F)
+        || (codePoint >= 0x2B920 && codePoint <= 0x2CEAF)
+        || (codePoint >= 0xF900 && codePoint <= 0xFAFF)
+        || (codePoint >= 0x2F800 && codePoint <= 0x2FA1F);
+  }
+
+  private static int approximateWord(CharSequence text, int start, int end) {
+    int ideographic = 0;
+    int alphanumeric = 0;
+    int symbols = 0;
+    for (int i = start; i < end; i++) {
+      char c = text.charAt(i);
+      if (isHangulOrHan(c)) {
+        ideographic++;
+      } else if (Character.isLetterOrDigit(c)) {
+        alphanumeric++;
+      } else {
+        symbols++;
+      }
+    }
+    return (ideographic * 2 + 2) / 3 + (alphanumeric + 3) / 4 + symbols;
+  }
+
+  private static boolean isHangulOrHan(char c) {
+    Character.UnicodeScript script = Character.UnicodeScript.of(c);
+    return script == Character.UnicodeScript.HANGUL || script == Character.UnicodeScript.HAN;
+  }
+}
@@ -0,0 +1,74 @@
+package com.saltlux.filedepot.service;
+
+import java.util.Collection;
+
+/**
+ * 토크나이저 어휘 조회 테이블. 문자열 구간을 부분 문자열로 만들지 않고 바로 조회할 수 있도록
+ * {@link String#hashCode()}와 같은 해시를 쓰는 open addressing 테이블로 구성합니다.
+ */
+final class Vocabulary {
+
+  private final String[] table;
+  private final int mask;
+  private final int maxPieceLength;
+
+  Vocabulary(Collection<String> pieces) {
+    int capacity = Integer.highestOneBit(Math.max(16, pieces.size() * 2) - 1) << 1;
+    this.table = new String[capacity];
+    this.mask = capacity - 1;
+    int maxLength = 0;
+    for (String piece : pieces) {
+      if (piece.isEmpty()) {
+        continue;
+      }
+      int slot = piece.hashCode() & mask;
+      while (table[slot] != null && !table[slot].equals(piece)) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = piece;
+      maxLength = Math.max(maxLength, piece.length());
+    }
+    this.maxPieceLength = maxLength;
+  }
+
+  int maxPieceLength() {
+    return maxPieceLength;
+  }
+
+  /**
+   * {@code prefix + text[start, end)}가 어휘에 있는지 확인합니다.
+   */
+  boolean contains(String prefix, CharSequence text, int start, int end) {
+    int length = prefix.length() + end - start;
+    int hash = 0;
+    for (int i = 0; i < prefix.length(); i++) {
+      hash = 31 * hash + prefix.charAt(i);
+    }
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + text.charAt(i);
+    }
+
+    int slot = hash & mask;
+    String candidate;
+    while ((candidate = table[slot]) != null) {
+      if (candidate.hashCode() == hash && candidate.length() == length
+          && regionEquals(candidate, prefix, text, start)) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  private static boolean regionEquals(String candidate, String prefix, CharSequence text, int start) {
+    if (!candidate.startsWith(prefix)) {
+      return false;
+    }
+    for (int i = prefix.length(); i < candidate.length(); i++) {
+      if (candidate.charAt(i) != text.charAt(start + i - prefix.length())) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,111 @@
+package com.saltlux.filedepot.service.extractor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Locale;
+
+/**
+ * 텍스트 스트림의 문자셋을 판별합니다.
+ * content type의 {@code charset} 파라미터 → BOM → 앞부분의 UTF-8 유효성 순으로 확인하고,
+ * 모두 아니면 국내 레거시 파일이 주로 쓰는 MS949로 읽습니다.
+ */
+final class CharsetDetector {
+
+  static final Charset FALLBACK = Charset.forName("MS949");
+
+  private static final int SAMPLE_SIZE = 64 * 1024;
+
+  private CharsetDetector() {
+  }
+
+  /**
+   * 판별한 문자셋으로 스트림을 읽는 Reader를 엽니다. BOM은 건너뜁니다.
+   */
+  static BufferedReader open(InputStream input, String contentType) throws IOException {
+    BufferedInputStream buffered = new BufferedInputStream(input, SAMPLE_SIZE);
+    buffered.mark(SAMPLE_SIZE);
+    byte[] sample = buffered.readNBytes(SAMPLE_SIZE);
+    buffered.reset();
+
+    Charset declared = declaredCharset(contentType);
+    Charset charset;
+    int bomLength;
+    if (startsWith(sample, 0xEF, 0xBB, 0xBF)) {
+      charset = StandardCharsets.UTF_8;
+      bomLength = 3;
+    } else if (startsWith(sample, 0xFE, 0xFF)) {
+      charset = StandardCharsets.UTF_16BE;
+      bomLength = 2;
+    } else if (startsWith(sample, 0xFF, 0xFE)) {
+      charset = StandardCharsets.UTF_16LE;
+      bomLength = 2;
+    } else {
+      charset = declared != null ? declared : detect(sample, sample.length < SAMPLE_SIZE);
+      bomLength = 0;
+    }
+    buffered.skipNBytes(bomLength);
+    return new BufferedReader(new InputStreamReader(buffered, charset));
+  }
+
+  /**
+   * BOM이 없는 표본의 문자셋을 판별합니다.
+   *
+   * @param complete 표본이 스트림 전체인지 여부. 아니면 끝에서 잘린 멀티바이트 문자를 허용합니다.
+   */
+  static Charset detect(byte[] sample, boolean complete) {
+    return isValidUtf8(sample, complete) ? StandardCharsets.UTF_8 : FALLBACK;
+  }
+
+  private static boolean isValidUtf8(byte[] sample, boolean complete) {
+    CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPORT)
+        .onUnmappableCharacter(CodingErrorAction.REPORT);
+    ByteBuffer in = ByteBuffer.wrap(sample);
+    CharBuffer out = CharBuffer.allocate(sample.length);
+    if (decoder.decode(in, out, complete).isError()) {
+      return false;
+    }
+    return !complete || !decoder.flush(out).isError();
+  }
+
+  private static Charset declaredCharset(String contentType) {
+    if (contentType == null) {
+      return null;
+    }
+    for (String parameter : contentType.split(";")) {
+      String[] pair = parameter.split("=", 2);
+      if (pair.length == 2 && pair[0].strip().toLowerCase(Locale.ROOT).equals("charset")) {
+        String name = pair[1].strip().replace("\"", "");
+        try {
+          return Charset.forName(name);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static boolean startsWith(byte[] bytes, int... prefix) {
+    if (bytes.length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if ((bytes[i] & 0xFF) != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,26 @@
+package com.saltlux.filedepot.service.extractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Converter/Docling/VLM을 거치지 않고 프로세스 안에서 텍스트를 추출하는 추출기.
+ * 이미 텍스트인 형식(텍스트, CSV, JSON, XML, HTML)에 사용하며, {@link ContentExtractorRegistry}가
+ * content type으로 찾습니다.
+ */
+public interface ContentExtractor {
+
+  /**
+   * 처리하는 MIME 타입 (파라미터 없이 소문자).
+   */
+  Set<String> contentTypes();
+
+  /**
+   * 스트림을 읽어 텍스트를 추출합니다. 스트림은 호출자가 닫습니다.
+   *
+   * @param input 원본 내용
+   * @param contentType 업로드 시 지정된 content type ({@code charset} 파라미터 포함 가능)
+   */
+  String extract(InputStream input, String contentType) throws IOException;
+}
@@ -0,0 +1,47 @@
+package com.saltlux.filedepot.service.extractor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * content type별 {@link ContentExtractor} 목록. 등록된 타입이 아니면 시나리오 기반 추출을 사용합니다.
+ */
+@Slf4j
+@Component
+public class ContentExtractorRegistry {
+
+  private final Map<String, ContentExtractor> extractors = new HashMap<>();
+
+  public ContentExtractorRegistry(List<ContentExtractor> extractors) {
+    for (ContentExtractor extractor : extractors) {
+      for (String contentType : extractor.contentTypes()) {
+        ContentExtractor existing = this.extractors.putIfAbsent(contentType, extractor);
+        if (existing != null) {
+          throw new IllegalStateException("Duplicate extractor for " + contentType + ": "
+              + existing.getClass().getSimpleName() + ", " + extractor.getClass().getSimpleName());
+        }
+      }
+    }
+    log.debug("Registered in-process extractors for {}", this.extractors.keySet());
+  }
+
+  public Optional<ContentExtractor> find(String contentType) {
+    if (contentType == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(extractors.get(mimeType(contentType)));
+  }
+
+  static String mimeType(String contentType) {
+    int separator = contentType.indexOf(';');
+    String mimeType = separator < 0 ? contentType : contentType.substring(0, separator);
+    return mimeType.strip().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,72 @@
+package com.saltlux.filedepot.service.extractor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * CSV/TSV. 따옴표로 감싼 필드(구분자, 줄바꿈, {@code ""} 포함)를 해석하여
+ * 한 레코드를 {@code 필드 | 필드 | ...} 한 줄로 출력합니다. 빈 레코드는 건너뜁니다.
+ */
+@Component
+public class CsvExtractor implements ContentExtractor {
+
+  private static final String TSV = "text/tab-separated-values";
+
+  @Override
+  public Set<String> contentTypes() {
+    return Set.of("text/csv", "text/comma-separated-values", "application/csv", TSV);
+  }
+
+  @Override
+  public String extract(InputStream input, String contentType) throws IOException {
+    char delimiter = ContentExtractorRegistry.mimeType(contentType).equals(TSV) ? '\t' : ',';
+    BufferedReader reader = CharsetDetector.open(input, contentType);
+
+    StringBuilder result = new StringBuilder();
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    int c;
+    while ((c = reader.read()) != -1) {
+      if (quoted) {
+        if (c != '"') {
+          field.append((char) c);
+          continue;
+        }
+        reader.mark(1);
+        if (reader.read() == '"') {
+          field.append('"');
+        } else {
+          reader.reset();
+          quoted = false;
+        }
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c == delimiter) {
+        fields.add(field.toString().strip());
+        field.setLength(0);
+      } else if (c == '\n') {
+        endRecord(result, fields, field);
+      } else if (c != '\r') {
+        field.append((char) c);
+      }
+    }
+    endRecord(result, fields, field);
+    return result.toString();
+  }
+
+  private static void endRecord(StringBuilder result, List<String> fields, StringBuilder field) {
+    fields.add(field.toString().strip());
+    field.setLength(0);
+    if (fields.stream().anyMatch(value -> !value.isEmpty())) {
+      result.append(String.join(" | ", fields)).append('\n');
+    }
+    fields.clear();
+  }
+}
@@ -0,0 +1,116 @@
+package com.saltlux.filedepot.service.extractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * HTML. script/style/주석을 제거하고 블록 태그를 줄바꿈으로 바꾼 뒤 나머지 태그를 지워
+ * 본문 텍스트만 남깁니다. 엔티티는 자주 쓰이는 이름과 숫자 참조를 해석합니다.
+ */
+@Component
+public class HtmlExtractor implements ContentExtractor {
+
+  // 태그 패턴은 '<'에서도 멈추도록 하여, 닫히지 않은 태그가 반복되어도 입력 끝까지 다시 훑지 않습니다.
+  private static final Pattern INVISIBLE_START = Pattern.compile(
+      "<!--|<(script|style|noscript|template)\\b[^<>]*>", Pattern.CASE_INSENSITIVE);
+  private static final Pattern COMMENT_END = Pattern.compile("-->");
+  private static final Map<String, Pattern> INVISIBLE_END = Map.of(
+      "script", Pattern.compile("</script\\s*>", Pattern.CASE_INSENSITIVE),
+      "style", Pattern.compile("</style\\s*>", Pattern.CASE_INSENSITIVE),
+      "noscript", Pattern.compile("</noscript\\s*>", Pattern.CASE_INSENSITIVE),
+      "template", Pattern.compile("</template\\s*>", Pattern.CASE_INSENSITIVE));
+  private static final Pattern BLOCK_TAG = Pattern.compile(
+      "</?(p|div|br|hr|li|tr|h[1-6]|table|section|article|header|footer|blockquote|pre|title)\\b[^<>]*>",
+      Pattern.CASE_INSENSITIVE);
+  private static final Pattern CELL_TAG = Pattern.compile("</t[dh]\\s*>", Pattern.CASE_INSENSITIVE);
+  private static final Pattern TAG = Pattern.compile("<[^<>]*>");
+  private static final Pattern ENTITY = Pattern.compile("&(#[0-9]+|#[xX][0-9a-fA-F]+|[a-zA-Z]+);");
+  private static final Pattern HORIZONTAL_SPACE = Pattern.compile("[ \\t\\x0B\\f\\u00A0]+");
+
+  private static final Map<String, String> NAMED_ENTITIES = Map.of(
+      "amp", "&", "lt", "<", "gt", ">", "quot", "\"", "apos", "'", "nbsp", " ",
+      "middot", "·", "hellip", "…", "copy", "©");
+
+  @Override
+  public Set<String> contentTypes() {
+    return Set.of("text/html", "application/xhtml+xml");
+  }
+
+  @Override
+  public String extract(InputStream input, String contentType) throws IOException {
+    StringWriter html = new StringWriter();
+    CharsetDetector.open(input, contentType).transferTo(html);
+
+    String text = removeInvisible(html.toString());
+    text = BLOCK_TAG.matcher(text).replaceAll("\n");
+    text = CELL_TAG.matcher(text).replaceAll(" | ");
+    text = TAG.matcher(text).replaceAll("");
+    text = decodeEntities(text);
+
+    StringBuilder result = new StringBuilder(text.length());
+    for (String line : text.split("\\R")) {
+      String normalized = HORIZONTAL_SPACE.matcher(line).replaceAll(" ").strip();
+      if (normalized.endsWith("|")) {
+        normalized = normalized.substring(0, normalized.length() - 1).strip();
+      }
+      if (!normalized.isEmpty()) {
+        result.append(normalized).append('\n');
+      }
+    }
+    return result.toString();
+  }
+
+  /**
+   * 주석과 script/style/noscript/template 본문을 한 번의 전진 탐색으로 지웁니다.
+   * 닫는 태그가 없으면 브라우저처럼 나머지 전체를 본문으로 보고 지웁니다.
+   */
+  static String removeInvisible(String html) {
+    Matcher start = INVISIBLE_START.matcher(html);
+    StringBuilder result = new StringBuilder(html.length());
+    int position = 0;
+    while (start.find(position)) {
+      result.append(html, position, start.start());
+      Pattern end = start.group(1) == null
+          ? COMMENT_END
+          : INVISIBLE_END.get(start.group(1).toLowerCase(Locale.ROOT));
+      Matcher endMatcher = end.matcher(html);
+      if (!endMatcher.find(start.end())) {
+        return result.toString();
+      }
+      position = endMatcher.end();
+    }
+    return result.append(html, position, html.length()).toString();
+  }
+
+  private static String decodeEntities(String text) {
+    Matcher matcher = ENTITY.matcher(text);
+    StringBuilder result = new StringBuilder(text.length());
+    while (matcher.find()) {
+      matcher.appendReplacement(result, Matcher.quoteReplacement(decodeEntity(matcher.group(1), matcher.group())));
+    }
+    matcher.appendTail(result);
+    return result.toString();
+  }
+
+  private static String decodeEntity(String name, String original) {
+    if (name.charAt(0) != '#') {
+      return NAMED_ENTITIES.getOrDefault(name, original);
+    }
+    try {
+      int codePoint = name.charAt(1) == 'x' || name.charAt(1) == 'X'
+          ? Integer.parseInt(name.substring(2), 16)
+          : Integer.parseInt(name.substring(1));
+      return Character.isValidCodePoint(codePoint) ? Character.toString(codePoint) : original;
+    } catch (NumberFormatException e) {
+      return original;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.saltlux.filedepot.service.extractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * JSON / JSON Lines. 스트리밍 파서로 값마다 {@code 경로: 값} 한 줄을 출력합니다
+ * (예: {@code items/0/name: 문서}). 전체 트리를 메모리에 올리지 않습니다.
+ */
+@Component
+public class JsonExtractor implements ContentExtractor {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  @Override
+  public Set<String> contentTypes() {
+    return Set.of("application/json", "application/ld+json", "application/x-ndjson", "application/jsonl");
+  }
+
+  @Override
+  public String extract(InputStream input, String contentType) throws IOException {
+    StringBuilder result = new StringBuilder();
+    try (JsonParser parser = JSON_FACTORY.createParser(CharsetDetector.open(input, contentType))) {
+      JsonToken token;
+      while ((token = parser.nextToken()) != null) {
+        if (!token.isScalarValue() || token == JsonToken.VALUE_NULL) {
+          continue;
+        }
+        String path = parser.getParsingContext().pathAsPointer().toString();
+        if (!path.isEmpty()) {
+          result.append(path, 1, path.length()).append(": ");
+        }
+        result.append(parser.getText()).append('\n');
+      }
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,31 @@
+package com.saltlux.filedepot.service.extractor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 텍스트, 마크다운, 로그 파일. 줄바꿈만 {@code \n}으로 정규화합니다.
+ */
+@Component
+public class PlainTextExtractor implements ContentExtractor {
+
+  @Override
+  public Set<String> contentTypes() {
+    return Set.of("text/plain", "text/markdown", "text/x-markdown", "text/x-log");
+  }
+
+  @Override
+  public String extract(InputStream input, String contentType) throws IOException {
+    BufferedReader reader = CharsetDetector.open(input, contentType);
+    StringBuilder result = new StringBuilder();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      result.append(line).append('\n');
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,68 @@
+package com.saltlux.filedepot.service.extractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * XML. StAX로 읽으며 요소의 텍스트를 한 줄씩 출력합니다.
+ * 인코딩은 XML 선언을 따르고, DTD와 외부 엔티티는 처리하지 않습니다.
+ */
+@Component
+public class XmlExtractor implements ContentExtractor {
+
+  private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+  @Override
+  public Set<String> contentTypes() {
+    return Set.of("application/xml", "text/xml");
+  }
+
+  @Override
+  public String extract(InputStream input, String contentType) throws IOException {
+    StringBuilder result = new StringBuilder();
+    StringBuilder text = new StringBuilder();
+    try {
+      XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(input);
+      try {
+        while (reader.hasNext()) {
+          switch (reader.next()) {
+            case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> text.append(reader.getText());
+            case XMLStreamConstants.START_ELEMENT, XMLStreamConstants.END_ELEMENT -> flush(result, text);
+            default -> {
+            }
+          }
+        }
+        flush(result, text);
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      throw new IOException("Failed to parse XML: " + e.getMessage(), e);
+    }
+    return result.toString();
+  }
+
+  private static void flush(StringBuilder result, StringBuilder text) {
+    String line = text.toString().strip();
+    if (!line.isEmpty()) {
+      result.append(line).append('\n');
+    }
+    text.setLength(0);
+  }
+
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    return factory;
+  }
+}
@@ -4,13 +4,17 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeAll;
@@ -26,13 +30,21 @@ import com.saltlux.filedepot.config.FileDepotProperties;
 import com.saltlux.filedepot.config.FileDepotProperties.EmbedKitProvider;
 import com.saltlux.filedepot.config.FileDepotProperties.ParsekitScenario;
 import com.saltlux.filedepot.entity.Chunk;
+import com.saltlux.filedepot.entity.ExtractedContent;
 import com.saltlux.filedepot.entity.ProcessingStep;
 import com.saltlux.filedepot.entity.StorageItem;
 import com.saltlux.filedepot.repository.ChunkRepository;
 import com.saltlux.filedepot.repository.ExtractedContentRepository;
+import com.saltlux.filedepot.repository.OcrResultRepository;
+import com.saltlux.filedepot.repository.PageOcrResultRepository;
 import com.saltlux.filedepot.repository.StorageItemRepository;
+import com.saltlux.filedepot.service.LocalTextChunker;
+import com.saltlux.filedepot.service.OcrCache;
 import com.saltlux.filedepot.service.ProcessingQueue;
 import com.saltlux.filedepot.service.ProcessingService;
+import com.saltlux.filedepot.service.TextExtractor;
+import com.saltlux.filedepot.service.TokenCounter;
+import com.saltlux.filedepot.service.extractor.ContentExtractorRegistry;
 import com.saltlux.filedepot.support.TestStorageHelper;
 
 import jakarta.persistence.EntityManager;
@@ -60,6 +72,27 @@ class DocumentProcessingIntegrationTest extends BaseIntegrationTest {
   @Autowired
   private ChunkRepository chunkRepository;
 
+  @Autowired
+  private OcrCache ocrCache;
+
+  @Autowired
+  private OcrResultRepository ocrResultRepository;
+
+  @Autowired
+  private PageOcrResultRepository pageOcrResultRepository;
+
+  @Autowired
+  private ContentExtractorRegistry contentExtractorRegistry;
+
+  @Autowired
+  private LocalTextChunker localTextChunker;
+
+  @Autowired
+  private TokenCounter tokenCounter;
+
+  @Autowired
+  private TextExtractor textExtractor;
+
   @Autowired
   private EntityManager entityManager;
 
@@ -257,6 +290,9 @@ class DocumentProcessingIntegrationTest extends BaseIntegrationTest {
         System.out.println(">>> [" + filename + "] Processing FAILED");
       } else {
         System.out.println(">>> [" + filename + "] Processing completed: " + finalItem.getProcessingStep());
+        assertThat(pageOcrResultRepository.findByUuid(uuid))
+            .as("page checkpoints are removed once extraction completes")
+            .isEmpty();
       }
 
       // Save extracted content to output file
@@ -305,6 +341,237 @@ class DocumentProcessingIntegrationTest extends BaseIntegrationTest {
     }
   }
 
+  @Nested
+  @DisplayName("Duplicate content reuse")
+  class DuplicateContentReuseTests {
+
+    @Test
+    @DisplayName("should copy extracted content and chunks from a processed file with the same hash")
+    void shouldReuseResultsOfIdenticalFile() {
+      String hash = "a".repeat(64);
+      String sourceUuid = java.util.UUID.randomUUID().toString();
+      String duplicateUuid = java.util.UUID.randomUUID().toString();
+
+      StorageItem source = storageItemRepository.saveAndFlush(StorageItem.builder()
+          .uuid(sourceUuid)
+          .contentType("application/pdf")
+          .size(100L)
+          .contentHash(hash)
+          .processingStep(ProcessingStep.EMBEDDED)
+          .build());
+      extractedContentRepository.saveAndFlush(new ExtractedContent(source, "source content"));
+      chunkRepository.saveAndFlush(Chunk.builder()
+          .uuid(sourceUuid)
+          .chunkIndex(0)
+          .content("source content")
+          .embedding(new byte[] { 1, 2, 3, 4 })
+          .build());
+      storageItemRepository.saveAndFlush(StorageItem.builder()
+          .uuid(duplicateUuid)
+          .contentType("application/pdf")
+          .size(100L)
+          .contentHash(hash)
+          .build());
+
+      assertThat(processingService.reuseDuplicate(duplicateUuid)).isTrue();
+
+      entityManager.clear();
+      ProcessingStep expectedStep = isEmbeddingEnabled() ? ProcessingStep.EMBEDDED : ProcessingStep.EXTRACTED;
+      assertThat(storageItemRepository.findByUuid(duplicateUuid).orElseThrow().getProcessingStep())
+          .isEqualTo(expectedStep);
+      assertThat(extractedContentRepository.findByStorageItemUuid(duplicateUuid))
+          .hasValueSatisfying(content -> assertThat(content.getContent()).isEqualTo("source content"));
+      if (isEmbeddingEnabled()) {
+        assertThat(chunkRepository.findByUuidOrderByChunkIndexAsc(duplicateUuid))
+            .singleElement()
+            .satisfies(chunk -> assertThat(chunk.getEmbedding()).containsExactly(1, 2, 3, 4));
+      }
+    }
+
+    @Test
+    @DisplayName("should not reuse when no processed file has the same hash")
+    void shouldNotReuseWithoutMatch() {
+      String uuid = java.util.UUID.randomUUID().toString();
+      storageItemRepository.saveAndFlush(StorageItem.builder()
+          .uuid(uuid)
+          .contentType("application/pdf")
+          .size(100L)
+          .contentHash("b".repeat(64))
+          .build());
+
+      assertThat(processingService.reuseDuplicate(uuid)).isFalse();
+    }
+  }
+
+  @Nested
+  @DisplayName("Chunk batch writes")
+  class ChunkBatchWriteTests {
+
+    @Test
+    @DisplayName("should insert chunks and update their embeddings in JDBC batches")
+    void shouldInsertAndUpdateEmbeddingsInBatches() {
+      String uuid = java.util.UUID.randomUUID().toString();
+      int count = properties.getProcessing().getWriteBatchSize() + 3;
+      java.util.List<Chunk> chunks = new java.util.ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        chunks.add(Chunk.builder().uuid(uuid).chunkIndex(i).content("chunk " + i).build());
+      }
+
+      chunkRepository.insertAll(chunks);
+      java.util.List<Chunk> stored = chunkRepository.findByUuidOrderByChunkIndexAsc(uuid);
+      assertThat(stored).hasSize(count);
+      assertThat(stored).allSatisfy(chunk -> assertThat(chunk.getEmbedding()).isNull());
+
+      stored.forEach(chunk -> chunk.updateEmbedding(new byte[] { chunk.getChunkIndex().byteValue() }));
+      chunkRepository.updateEmbeddings(stored);
+
+      entityManager.clear();
+      assertThat(chunkRepository.findByUuidOrderByChunkIndexAsc(uuid))
+          .allSatisfy(chunk -> assertThat(chunk.getEmbedding()).containsExactly(chunk.getChunkIndex().byteValue()));
+
+      chunkRepository.deleteByUuid(uuid);
+    }
+  }
+
+  @Nested
+  @DisplayName("OCR result cache")
+  class OcrCacheTests {
+
+    @Test
+    @DisplayName("should call OCR once per image hash and serve later calls from the cache")
+    void shouldReuseOcrResultForSameImage() {
+      assumeTrue(properties.getParsekit().getVlm().getCache().isEnabled(),
+          "Skipping OCR cache test: cache is disabled");
+
+      String imageHash = OcrCache.hash(java.util.UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+      AtomicInteger calls = new AtomicInteger();
+
+      String first = ocrCache.get(imageHash, () -> {
+        calls.incrementAndGet();
+        return "직인";
+      });
+      String second = ocrCache.get(imageHash, () -> {
+        calls.incrementAndGet();
+        return "다른 결과";
+      });
+
+      assertThat(first).isEqualTo("직인");
+      assertThat(second).isEqualTo("직인");
+      assertThat(calls).hasValue(1);
+      if (properties.getParsekit().getVlm().getCache().isPersistent()) {
+        assertThat(ocrResultRepository.findAll())
+            .anySatisfy(result -> assertThat(result.getImageHash()).isEqualTo(imageHash));
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("In-process extraction")
+  class InProcessExtractionTests {
+
+    @Test
+    @DisplayName("should extract MS949 CSV records without parsekit")
+    void shouldExtractLegacyEncodedCsv() throws IOException {
+      byte[] csv = "이름,설명\r\n홍길동,\"서울, \"\"본사\"\"\"\r\n".getBytes("MS949");
+
+      String text = contentExtractorRegistry.find("text/csv").orElseThrow()
+          .extract(new ByteArrayInputStream(csv), "text/csv");
+
+      assertThat(text).isEqualTo("이름 | 설명\n홍길동 | 서울, \"본사\"\n");
+    }
+
+    @Test
+    @DisplayName("should honour BOM and ignore content type parameters when looking up extractors")
+    void shouldExtractUtf8TextWithBom() throws IOException {
+      byte[] bom = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+      byte[] body = "로그 1\r\n로그 2".getBytes(StandardCharsets.UTF_8);
+      byte[] content = new byte[bom.length + body.length];
+      System.arraycopy(bom, 0, content, 0, bom.length);
+      System.arraycopy(body, 0, content, bom.length, body.length);
+
+      String text = contentExtractorRegistry.find("Text/Plain; charset=UTF-8").orElseThrow()
+          .extract(new ByteArrayInputStream(content), "text/plain");
+
+      assertThat(text).isEqualTo("로그 1\n로그 2\n");
+      assertThat(contentExtractorRegistry.find("application/pdf")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should fall back to plain text when a structured extractor cannot parse the file")
+    void shouldFallBackToPlainTextOnParseError() {
+      assumeTrue(properties.getParsekit().getScenario() != ParsekitScenario.DISABLED
+          && properties.getProcessing().getExtraction().isFastPath(),
+          "Skipping: parsekit is disabled or the fast path is off");
+      byte[] truncated = "{\"title\": \"보고서\", \"items\": [1, 2".getBytes(StandardCharsets.UTF_8);
+      String uuid = createTestFile("truncated.json", truncated, "application/json");
+
+      String text = textExtractor.extract(uuid, "application/json");
+
+      assertThat(text).isEqualTo("{\"title\": \"보고서\", \"items\": [1, 2\n");
+      cleanup(uuid);
+    }
+
+    @Test
+    @DisplayName("should stream extracted text into extracted_content without changing it")
+    void shouldStoreStreamedText() {
+      assumeTrue(properties.getParsekit().getScenario() != ParsekitScenario.DISABLED
+          && properties.getProcessing().getExtraction().isFastPath(),
+          "Skipping: parsekit is disabled or the fast path is off");
+      String line = "한글과 English가 섞인 줄입니다.\n";
+      byte[] content = line.repeat(20_000).getBytes(StandardCharsets.UTF_8);
+      String uuid = createTestFile("streamed.txt", content, "text/plain");
+
+      processingService.extract(uuid);
+
+      assertThat(extractedContentRepository.findByStorageItemUuid(uuid))
+          .hasValueSatisfying(extracted -> assertThat(extracted.getContent()).isEqualTo(line.repeat(20_000)));
+      cleanup(uuid);
+    }
+
+    @Test
+    @DisplayName("should strip unclosed script blocks from HTML in linear time")
+    void shouldStripUnclosedScriptsInLinearTime() throws IOException {
+      String html = "<p>본문 &amp; 표</p><script>var a = '<p>';</script ><!-- 주석 --><p>끝</p>"
+          + "<script>x".repeat(200_000);
+
+      String text = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> contentExtractorRegistry
+          .find("text/html").orElseThrow()
+          .extract(new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)), "text/html"));
+
+      assertThat(text).isEqualTo("본문 & 표\n끝\n");
+    }
+  }
+
+  @Nested
+  @DisplayName("Local chunking")
+  class LocalChunkingTests {
+
+    @Test
+    @DisplayName("should keep chunks within size and overlap neighbours at sentence boundaries")
+    void shouldChunkWithinSizeAndOverlap() {
+      StringBuilder text = new StringBuilder();
+      for (int i = 0; i < 50; i++) {
+        text.append(i).append("번째 문장입니다. 문장 경계에서 나뉘어야 합니다! ");
+        if (i % 10 == 9) {
+          text.append("\n\n");
+        }
+      }
+
+      java.util.List<String> chunks = localTextChunker.chunk(text, 64, 16);
+
+      assertThat(chunks).hasSizeGreaterThan(1);
+      assertThat(chunks).allSatisfy(chunk -> {
+        assertThat(tokenCounter.count(chunk, 0, chunk.length())).isLessThanOrEqualTo(64);
+        assertThat(chunk).matches("(?s).*[.!]");
+      });
+      for (int i = 1; i < chunks.size(); i++) {
+        String chunk = chunks.get(i);
+        int firstSentenceEnd = chunk.replaceAll("[.!]", "|").indexOf('|') + 1;
+        assertThat(chunks.get(i - 1)).endsWith(chunk.substring(0, firstSentenceEnd));
+      }
+    }
+  }
+
   @Nested
   @DisplayName("Error handling")
   class ErrorHandlingTests {
@@ -347,6 +614,25 @@ class DocumentProcessingIntegrationTest extends BaseIntegrationTest {
       StorageItem updatedItem = storageItemRepository.findByUuid(uuid).orElseThrow();
       assertThat(updatedItem.getProcessingStep()).isEqualTo(ProcessingStep.FAILED);
     }
+
+    @Test
+    @DisplayName("should reject converter input above max-client-input-size before reading it into heap")
+    void shouldRejectOversizedConverterInput() {
+      String contentType = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+      String uuid = createTestFile("large.docx", new byte[4096], contentType);
+      var extraction = properties.getProcessing().getExtraction();
+      long maxClientInputSize = extraction.getMaxClientInputSize();
+      extraction.setMaxClientInputSize(1024);
+
+      try {
+        assertThatThrownBy(() -> textExtractor.extract(uuid, contentType))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("max-client-input-size");
+      } finally {
+        extraction.setMaxClientInputSize(maxClientInputSize);
+        cleanup(uuid);
+      }
+    }
   }
 
   private String createTestFile(String filename, byte[] content, String contentType) {
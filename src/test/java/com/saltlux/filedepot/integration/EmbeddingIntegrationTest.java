@@ -1,15 +1,20 @@
 package com.saltlux.filedepot.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.saltlux.filedepot.config.FileDepotProperties;
@@ -19,8 +24,11 @@ import com.saltlux.filedepot.entity.ExtractedContent;
 import com.saltlux.filedepot.entity.ProcessingStep;
 import com.saltlux.filedepot.entity.StorageItem;
 import com.saltlux.filedepot.repository.ChunkRepository;
+import com.saltlux.filedepot.repository.ChunkRepositoryCustom.EmbeddingRow;
 import com.saltlux.filedepot.repository.ExtractedContentRepository;
 import com.saltlux.filedepot.repository.StorageItemRepository;
+import com.saltlux.filedepot.service.EmbeddingBatcher;
+import com.saltlux.filedepot.service.EmbeddingCodec;
 import com.saltlux.filedepot.service.ProcessingService;
 
 @Transactional
@@ -38,6 +46,15 @@ class EmbeddingIntegrationTest extends BaseIntegrationTest {
   @Autowired
   private StorageItemRepository storageItemRepository;
 
+  @Autowired
+  private EmbeddingBatcher embeddingBatcher;
+
+  @Autowired
+  private EmbeddingCodec embeddingCodec;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
   @Autowired
   private FileDepotProperties properties;
 
@@ -209,4 +226,101 @@ class EmbeddingIntegrationTest extends BaseIntegrationTest {
       cleanup(uuid);
     }
   }
+
+  @Nested
+  @DisplayName("Cross-document micro-batching")
+  class MicroBatchingTests {
+
+    @BeforeEach
+    void checkAvailability() {
+      assumeTrue(isEmbeddingEnabled(),
+          "Skipping micro-batching tests: embedding is not enabled");
+    }
+
+    @Test
+    @DisplayName("should route embeddings of concurrent small documents back in request order")
+    void shouldRouteEmbeddingsOfConcurrentDocuments() {
+      List<List<String>> documents = IntStream.range(0, 8)
+          .mapToObj(doc -> List.of(
+              "Document " + doc + " first sentence.",
+              "Document " + doc + " second sentence.",
+              "Document " + doc + " third sentence."))
+          .toList();
+
+      List<CompletableFuture<List<List<Float>>>> futures = documents.stream()
+          .map(texts -> CompletableFuture.supplyAsync(() -> embeddingBatcher.embed(texts)))
+          .toList();
+
+      List<List<Float>> alone = embeddingBatcher.embed(documents.get(3));
+
+      for (CompletableFuture<List<List<Float>>> future : futures) {
+        List<List<Float>> embeddings = future.join();
+        assertThat(embeddings).hasSize(3);
+        assertThat(embeddings).allSatisfy(embedding -> assertThat(embedding).isNotEmpty());
+      }
+      List<List<Float>> batched = futures.get(3).join();
+      for (int i = 0; i < alone.size(); i++) {
+        assertThat(batched.get(i)).hasSameSizeAs(alone.get(i));
+        assertThat(cosine(batched.get(i), alone.get(i))).isGreaterThan(0.99);
+      }
+    }
+
+    private double cosine(List<Float> a, List<Float> b) {
+      double dot = 0;
+      double normA = 0;
+      double normB = 0;
+      for (int i = 0; i < a.size(); i++) {
+        dot += a.get(i) * b.get(i);
+        normA += a.get(i) * a.get(i);
+        normB += b.get(i) * b.get(i);
+      }
+      return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+  }
+
+  @Nested
+  @DisplayName("Embedding storage format")
+  class EmbeddingStorageFormatTests {
+
+    @Test
+    @DisplayName("should find legacy float32 embeddings and rewrite them in the configured format")
+    void shouldMigrateLegacyEmbeddings() {
+      String uuid = java.util.UUID.randomUUID().toString();
+      List<Float> vector = IntStream.range(0, 1024)
+          .mapToObj(i -> (float) Math.sin(i) * 0.05f)
+          .toList();
+      ByteBuffer legacy = ByteBuffer.allocate(vector.size() * 4);
+      vector.forEach(legacy::putFloat);
+
+      chunkRepository.insertAll(List.of(
+          Chunk.builder().uuid(uuid).chunkIndex(0).content("legacy").embedding(legacy.array()).build(),
+          Chunk.builder().uuid(uuid).chunkIndex(1).content("current").embedding(embeddingCodec.encode(vector))
+              .build()));
+      List<Chunk> chunks = chunkRepository.findByUuidOrderByChunkIndexAsc(uuid);
+      long legacyId = chunks.get(0).getId();
+      long currentId = chunks.get(1).getId();
+
+      byte[] prefix = embeddingCodec.headerPrefix();
+      List<EmbeddingRow> rows = chunkRepository.findEmbeddingsWithoutPrefix(prefix, legacyId - 1, 10);
+      assertThat(rows).extracting(EmbeddingRow::id).contains(legacyId).doesNotContain(currentId);
+
+      assertThat(EmbeddingCodec.decodeToList(legacy.array())).isEqualTo(vector);
+      int updated = chunkRepository.replaceEmbeddings(
+          List.of(new EmbeddingRow(legacyId, embeddingCodec.reencode(legacy.array()))), prefix);
+      assertThat(updated).isEqualTo(1);
+
+      byte[] migrated = jdbcTemplate.queryForObject("SELECT embedding FROM chunk WHERE id = ?", byte[].class,
+          legacyId);
+      assertThat(migrated.length).isLessThanOrEqualTo(legacy.array().length + 12);
+      List<Float> decoded = EmbeddingCodec.decodeToList(migrated);
+      assertThat(decoded).hasSameSizeAs(vector);
+      for (int i = 0; i < vector.size(); i++) {
+        assertThat(decoded.get(i)).isCloseTo(vector.get(i), within(1e-3f));
+      }
+      assertThat(chunkRepository.findEmbeddingsWithoutPrefix(prefix, legacyId - 1, 10))
+          .extracting(EmbeddingRow::id).doesNotContain(legacyId);
+
+      cleanup(uuid);
+    }
+  }
 }
@@ -9,6 +9,10 @@ import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -26,6 +30,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import com.saltlux.filedepot.config.FileDepotProperties;
 import com.saltlux.filedepot.config.FileDepotProperties.EmbedKitProvider;
 import com.saltlux.filedepot.config.FileDepotProperties.ParsekitScenario;
+import com.saltlux.filedepot.dto.CompletedPart;
+import com.saltlux.filedepot.dto.MultipartPartUrlRequest;
+import com.saltlux.filedepot.dto.MultipartUploadRequest;
 import com.saltlux.filedepot.entity.ProcessingStep;
 import com.saltlux.filedepot.entity.StorageItem;
 import com.saltlux.filedepot.repository.ChunkRepository;
@@ -115,11 +122,68 @@ class FileStorageIntegrationTest extends BaseIntegrationTest {
       assertThat(confirmResponse.fileName()).isEqualTo("test.txt");
       assertThat(confirmResponse.contentType()).isEqualTo("text/plain");
       assertThat(confirmResponse.size()).isEqualTo(12L);
+      assertThat(storageItemRepository.findByUuid(uuid).orElseThrow().getContentHash())
+          .isEqualTo("6ae8a75555209fd6c44157c0aed8016e763ff435a19cf186f76863140143ff72");
 
       testStorageHelper.removeObject(uuid);
       storageItemRepository.deleteByUuidIn(List.of(uuid));
     }
 
+    @Test
+    @DisplayName("should prepare batch upload with distinct IDs and usable presigned URLs")
+    void shouldPrepareUploadBatch() throws Exception {
+      var responses = fileService.prepareUploadBatch(3);
+
+      assertThat(responses).hasSize(3);
+      assertThat(responses).extracting(r -> r.id()).doesNotHaveDuplicates();
+      assertThat(responses).allSatisfy(r -> {
+        assertThat(r.uploadUrl()).contains(r.id());
+        assertThat(r.expirySeconds()).isEqualTo(3600);
+      });
+
+      String uuid = responses.get(0).id();
+      HttpResponse<String> putResponse = HttpClient.newHttpClient().send(
+          HttpRequest.newBuilder(URI.create(responses.get(0).uploadUrl()))
+              .header("Content-Type", "text/plain")
+              .PUT(HttpRequest.BodyPublishers.ofString("batch content"))
+              .build(),
+          HttpResponse.BodyHandlers.ofString());
+      assertThat(putResponse.statusCode()).isEqualTo(200);
+
+      var confirmResponse = fileService.confirmUpload(new ConfirmUploadRequest(uuid, "batch.txt"));
+      assertThat(confirmResponse.size()).isEqualTo(13L);
+
+      testStorageHelper.removeObject(uuid);
+      storageItemRepository.deleteByUuidIn(List.of(uuid));
+    }
+
+    @Test
+    @DisplayName("should reject batch count outside the configured limit")
+    void shouldRejectInvalidBatchCount() {
+      int batchLimit = properties.getUpload().getBatchLimit();
+
+      assertThatThrownBy(() -> fileService.prepareUploadBatch(0))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> fileService.prepareUploadBatch(batchLimit + 1))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should treat repeated confirm as idempotent and update file name")
+    void shouldConfirmUploadIdempotently() {
+      String uuid = fileService.prepareUpload().id();
+      testStorageHelper.putObject(uuid, "idempotent".getBytes(), "text/plain");
+
+      var first = fileService.confirmUpload(new ConfirmUploadRequest(uuid, null));
+      var second = fileService.confirmUpload(new ConfirmUploadRequest(uuid, "renamed.txt"));
+
+      assertThat(first.fileName()).isEqualTo(uuid);
+      assertThat(second.fileName()).isEqualTo("renamed.txt");
+      assertThat(storageItemRepository.findByUuid(uuid).orElseThrow().getFileName()).isEqualTo("renamed.txt");
+
+      cleanupTestData(uuid);
+    }
+
     @Test
     @DisplayName("should throw exception when confirming non-uploaded file")
     void shouldThrowWhenConfirmingNonUploadedFile() {
@@ -128,6 +192,174 @@ class FileStorageIntegrationTest extends BaseIntegrationTest {
     }
   }
 
+  @Nested
+  @DisplayName("Batch confirm upload")
+  class BatchConfirmUploadTests {
+
+    @Test
+    @DisplayName("should confirm uploaded files and report per-item failures in request order")
+    void shouldConfirmUploadBatch() {
+      var uploaded = fileService.prepareUploadBatch(2);
+      String missingUuid = fileService.prepareUpload().id();
+      testStorageHelper.putObject(uploaded.get(0).id(), "first".getBytes(), "text/plain");
+      testStorageHelper.putObject(uploaded.get(1).id(), "second!".getBytes(), "text/plain");
+
+      var results = fileService.confirmUploadBatch(List.of(
+          new ConfirmUploadRequest(uploaded.get(0).id(), "first.txt"),
+          new ConfirmUploadRequest(missingUuid, "missing.txt"),
+          new ConfirmUploadRequest(uploaded.get(1).id(), null),
+          new ConfirmUploadRequest(uploaded.get(0).id(), "duplicate.txt")));
+
+      assertThat(results).extracting(r -> r.success()).containsExactly(true, false, true, false);
+      assertThat(results.get(0).item().fileName()).isEqualTo("first.txt");
+      assertThat(results.get(0).item().size()).isEqualTo(5L);
+      assertThat(results.get(2).item().fileName()).isEqualTo(uploaded.get(1).id());
+      assertThat(storageItemRepository.findByUuid(uploaded.get(0).id())).isPresent();
+      assertThat(storageItemRepository.findByUuid(missingUuid)).isEmpty();
+
+      uploaded.forEach(response -> cleanupTestData(response.id()));
+    }
+
+    @Test
+    @DisplayName("should throw when request list is empty")
+    void shouldThrowWhenEmpty() {
+      assertThatThrownBy(() -> fileService.confirmUploadBatch(List.of()))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Multipart upload flow")
+  class MultipartUploadFlowTests {
+
+    @Test
+    @DisplayName("should upload parts through presigned URLs and confirm the completed object")
+    void shouldCompleteMultipartUploadAndConfirm() throws Exception {
+      var initiated = fileService.initiateMultipartUpload("text/plain");
+      String uuid = initiated.id();
+
+      var partUrls = fileService.getMultipartPartUrls(
+          new MultipartPartUrlRequest(uuid, initiated.uploadId(), List.of(1)));
+      assertThat(partUrls).hasSize(1);
+      assertThat(partUrls.get(0).partNumber()).isEqualTo(1);
+
+      HttpResponse<String> putResponse = HttpClient.newHttpClient().send(
+          HttpRequest.newBuilder(URI.create(partUrls.get(0).uploadUrl()))
+              .PUT(HttpRequest.BodyPublishers.ofString("multipart content"))
+              .build(),
+          HttpResponse.BodyHandlers.ofString());
+      assertThat(putResponse.statusCode()).isEqualTo(200);
+      String etag = putResponse.headers().firstValue("ETag").orElseThrow();
+
+      fileService.completeMultipartUpload(
+          new MultipartUploadRequest(uuid, initiated.uploadId(), List.of(new CompletedPart(1, etag))));
+      var confirmResponse = fileService.confirmUpload(new ConfirmUploadRequest(uuid, "multipart.txt"));
+
+      assertThat(confirmResponse.size()).isEqualTo(17L);
+      assertThat(confirmResponse.contentType()).isEqualTo("text/plain");
+
+      cleanupTestData(uuid);
+    }
+
+    @Test
+    @DisplayName("should abort multipart upload without leaving an object")
+    void shouldAbortMultipartUpload() {
+      var initiated = fileService.initiateMultipartUpload(null);
+
+      fileService.abortMultipartUpload(new MultipartUploadRequest(initiated.id(), initiated.uploadId()));
+
+      assertThat(testStorageHelper.objectExists(initiated.id())).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject completing an upload without parts")
+    void shouldRejectCompleteWithoutParts() {
+      var initiated = fileService.initiateMultipartUpload(null);
+
+      assertThatThrownBy(() -> fileService.completeMultipartUpload(
+          new MultipartUploadRequest(initiated.id(), initiated.uploadId(), List.of(new CompletedPart(1, "etag")))))
+          .isInstanceOf(IllegalStateException.class);
+
+      fileService.abortMultipartUpload(new MultipartUploadRequest(initiated.id(), initiated.uploadId()));
+    }
+
+    @Test
+    @DisplayName("should reject completing when a part is missing or its ETag differs")
+    void shouldRejectCompleteWithMismatchedParts() throws Exception {
+      var initiated = fileService.initiateMultipartUpload("text/plain");
+      String uuid = initiated.id();
+      var partUrls = fileService.getMultipartPartUrls(
+          new MultipartPartUrlRequest(uuid, initiated.uploadId(), List.of(1)));
+      HttpResponse<String> putResponse = HttpClient.newHttpClient().send(
+          HttpRequest.newBuilder(URI.create(partUrls.get(0).uploadUrl()))
+              .PUT(HttpRequest.BodyPublishers.ofString("first part"))
+              .build(),
+          HttpResponse.BodyHandlers.ofString());
+      String etag = putResponse.headers().firstValue("ETag").orElseThrow();
+
+      assertThatThrownBy(() -> fileService.completeMultipartUpload(new MultipartUploadRequest(uuid,
+          initiated.uploadId(), List.of(new CompletedPart(1, etag), new CompletedPart(2, etag)))))
+          .isInstanceOf(IllegalStateException.class);
+      assertThatThrownBy(() -> fileService.completeMultipartUpload(new MultipartUploadRequest(uuid,
+          initiated.uploadId(), List.of(new CompletedPart(1, "\"0123456789abcdef0123456789abcdef\"")))))
+          .isInstanceOf(IllegalStateException.class);
+      assertThatThrownBy(() -> fileService.completeMultipartUpload(new MultipartUploadRequest(uuid,
+          initiated.uploadId(), List.of(new CompletedPart(2, etag)))))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThat(testStorageHelper.objectExists(uuid)).isFalse();
+
+      fileService.abortMultipartUpload(new MultipartUploadRequest(uuid, initiated.uploadId()));
+    }
+
+    @Test
+    @DisplayName("should reject out of range part numbers")
+    void shouldRejectInvalidPartNumbers() {
+      assertThatThrownBy(() -> fileService.getMultipartPartUrls(
+          new MultipartPartUrlRequest("id", "upload-id", List.of(0))))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Streaming upload")
+  class StreamingUploadTests {
+
+    @Test
+    @DisplayName("should stream content to MinIO and confirm it in the same call")
+    void shouldUploadContent() {
+      String uuid = java.util.UUID.randomUUID().toString();
+      byte[] content = "streamed content".getBytes(StandardCharsets.UTF_8);
+
+      var item = fileService.uploadContent(uuid, "streamed.txt", "text/plain", -1,
+          new ByteArrayInputStream(content));
+
+      assertThat(item.id()).isEqualTo(uuid);
+      assertThat(item.fileName()).isEqualTo("streamed.txt");
+      assertThat(item.size()).isEqualTo((long) content.length);
+      assertThat(testStorageHelper.objectExists(uuid)).isTrue();
+      assertThat(storageItemRepository.findByUuid(uuid).orElseThrow().getContentHash()).hasSize(64);
+
+      cleanupTestData(uuid);
+    }
+
+    @Test
+    @DisplayName("should reject invalid IDs and already existing files")
+    void shouldRejectInvalidOrExistingId() {
+      assertThatThrownBy(() -> fileService.uploadContent("not-a-uuid", null, "text/plain", -1,
+          new ByteArrayInputStream(new byte[0])))
+          .isInstanceOf(IllegalArgumentException.class);
+
+      String uuid = java.util.UUID.randomUUID().toString();
+      fileService.uploadContent(uuid, null, "text/plain", 3, new ByteArrayInputStream("abc".getBytes()));
+
+      assertThatThrownBy(() -> fileService.uploadContent(uuid, null, "text/plain", 3,
+          new ByteArrayInputStream("abc".getBytes())))
+          .isInstanceOf(IllegalStateException.class);
+
+      cleanupTestData(uuid);
+    }
+  }
+
   @Nested
   @DisplayName("File metadata and download")
   class FileMetadataDownloadTests {
@@ -176,6 +408,75 @@ class FileStorageIntegrationTest extends BaseIntegrationTest {
       testStorageHelper.removeObject(uuid);
       storageItemRepository.deleteByUuidIn(List.of(uuid));
     }
+
+    @Test
+    @DisplayName("should reuse cached download URL until the file is deleted")
+    void shouldReuseCachedDownloadUrl() {
+      assumeTrue(properties.getDownload().getUrlCache().isEnabled(),
+          "Skipping download URL cache test: cache is disabled");
+
+      var prepareResponse = fileService.prepareUpload();
+      String uuid = prepareResponse.id();
+      testStorageHelper.putObject(uuid, "cache test".getBytes(), "text/plain");
+      fileService.confirmUpload(new ConfirmUploadRequest(uuid, "cache.txt"));
+
+      var first = fileService.getDownloadUrl(uuid);
+      var second = fileService.getDownloadUrl(uuid);
+
+      assertThat(second.downloadUrl()).isEqualTo(first.downloadUrl());
+      assertThat(second.expirySeconds()).isLessThanOrEqualTo(first.expirySeconds());
+
+      fileService.deleteFiles(List.of(uuid));
+
+      assertThatThrownBy(() -> fileService.getDownloadUrl(uuid))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should stream only the requested byte range")
+    void shouldStreamRequestedRange() throws Exception {
+      var prepareResponse = fileService.prepareUpload();
+      String uuid = prepareResponse.id();
+      testStorageHelper.putObject(uuid, "0123456789".getBytes(), "text/plain");
+      fileService.confirmUpload(new ConfirmUploadRequest(uuid, "digits.txt"));
+
+      var info = fileService.getContentInfo(uuid);
+
+      assertThat(info.fileName()).isEqualTo("digits.txt");
+      assertThat(info.size()).isEqualTo(10);
+      assertThat(info.eTag()).isNotBlank();
+      assertThat(info.lastModified()).isNotNull();
+
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      fileService.streamContent(uuid, 3, 4).writeTo(baos);
+
+      assertThat(baos.toString(StandardCharsets.UTF_8)).isEqualTo("3456");
+
+      ByteArrayOutputStream full = new ByteArrayOutputStream();
+      fileService.streamContent(uuid, info.size()).writeTo(full);
+      assertThat(full.toString(StandardCharsets.UTF_8)).isEqualTo("0123456789");
+
+      testStorageHelper.removeObject(uuid);
+      storageItemRepository.deleteByUuidIn(List.of(uuid));
+    }
+
+    @Test
+    @DisplayName("should stream an empty file without a ranged read")
+    void shouldStreamEmptyFile() throws Exception {
+      String uuid = fileService.prepareUpload().id();
+      testStorageHelper.putObject(uuid, new byte[0], "text/plain");
+      fileService.confirmUpload(new ConfirmUploadRequest(uuid, "empty.txt"));
+
+      var info = fileService.getContentInfo(uuid);
+      assertThat(info.size()).isZero();
+
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      fileService.streamContent(uuid, info.size()).writeTo(baos);
+      assertThat(baos.size()).isZero();
+
+      testStorageHelper.removeObject(uuid);
+      storageItemRepository.deleteByUuidIn(List.of(uuid));
+    }
   }
 
   @Nested
@@ -413,6 +714,74 @@ class FileStorageIntegrationTest extends BaseIntegrationTest {
       });
     }
 
+    @Test
+    @DisplayName("should store already-compressed formats without deflating")
+    void shouldStoreCompressedFormatsWithoutDeflating() throws Exception {
+      var text = createTestFile("notes.txt", "plain text content", "text/plain");
+      var pdf = createTestFile("scan.pdf", "PDF content here", "application/pdf");
+      List<String> uuids = List.of(text, pdf);
+
+      var streamingBody = fileService.downloadBatch(new BatchDownloadRequest(uuids));
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      streamingBody.writeTo(baos);
+
+      try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+        Map<String, Integer> methods = new HashMap<>();
+        Map<String, String> entries = new HashMap<>();
+        ZipEntry entry;
+        while ((entry = zis.getNextEntry()) != null) {
+          methods.put(entry.getName(), entry.getMethod());
+          entries.put(entry.getName(), new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+          zis.closeEntry();
+        }
+
+        assertThat(methods).containsEntry("notes.txt", ZipEntry.DEFLATED)
+            .containsEntry("scan.pdf", ZipEntry.STORED);
+        assertThat(entries).containsEntry("scan.pdf", "PDF content here");
+      }
+
+      uuids.forEach(uuid -> {
+        testStorageHelper.removeObject(uuid);
+        storageItemRepository.deleteByUuidIn(List.of(uuid));
+      });
+    }
+
+    @Test
+    @DisplayName("should stream objects larger than the prefetch budget")
+    void shouldStreamObjectsLargerThanPrefetchBudget() throws Exception {
+      var batch = properties.getDownload().getBatch();
+      long originalBudget = batch.getPrefetchByteBudget();
+      batch.setPrefetchByteBudget(20);
+
+      var small = createTestFile("small.txt", "tiny", "text/plain");
+      var large = createTestFile("large.txt", "this content exceeds the prefetch budget", "text/plain");
+      List<String> uuids = List.of(small, large);
+
+      try {
+        var streamingBody = fileService.downloadBatch(new BatchDownloadRequest(uuids));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        streamingBody.writeTo(baos);
+
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+          Map<String, String> entries = new HashMap<>();
+          ZipEntry entry;
+          while ((entry = zis.getNextEntry()) != null) {
+            entries.put(entry.getName(), new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+            zis.closeEntry();
+          }
+
+          assertThat(entries).containsEntry("small.txt", "tiny")
+              .containsEntry("large.txt", "this content exceeds the prefetch budget");
+        }
+      } finally {
+        batch.setPrefetchByteBudget(originalBudget);
+        uuids.forEach(uuid -> {
+          testStorageHelper.removeObject(uuid);
+          storageItemRepository.deleteByUuidIn(List.of(uuid));
+        });
+      }
+    }
+
     @Test
     @DisplayName("should throw when ID list is empty")
     void shouldThrowWhenIdListIsEmpty() {
@@ -3,17 +3,28 @@ package com.saltlux.filedepot.integration;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.service.DerivedArtifactStore;
+import com.saltlux.filedepot.service.LocalObjectCache;
 import com.saltlux.filedepot.service.StorageClient;
 import com.saltlux.filedepot.support.TestStorageHelper;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class MinioIntegrationTest extends BaseIntegrationTest {
 
   @Autowired
@@ -22,6 +33,9 @@ class MinioIntegrationTest extends BaseIntegrationTest {
   @Autowired
   private TestStorageHelper testStorageHelper;
 
+  @Autowired
+  private DerivedArtifactStore derivedArtifactStore;
+
   @Nested
   @DisplayName("Object upload and download")
   class ObjectUploadDownloadTests {
@@ -153,4 +167,197 @@ class MinioIntegrationTest extends BaseIntegrationTest {
           .isInstanceOf(RuntimeException.class);
     }
   }
+
+  @Nested
+  @DisplayName("Derived artifacts")
+  class DerivedArtifactTests {
+
+    @Test
+    @DisplayName("should reuse stored page images and remove them with the file")
+    void shouldStoreAndRemovePageImages() {
+      String uuid = java.util.UUID.randomUUID().toString();
+      var pages = List.of(
+          new DerivedArtifactStore.PageImage(1, "page-1".getBytes()),
+          new DerivedArtifactStore.PageImage(2, "page-2".getBytes()));
+
+      assertThat(derivedArtifactStore.findPageImages(uuid, 150)).isEmpty();
+
+      derivedArtifactStore.savePageImages(uuid, 150, pages);
+
+      assertThat(derivedArtifactStore.findPageImages(uuid, 150)).hasValueSatisfying(found -> {
+        assertThat(found).extracting(DerivedArtifactStore.PageImage::page).containsExactly(1, 2);
+        assertThat(found.get(1).content()).isEqualTo("page-2".getBytes());
+      });
+      assertThat(derivedArtifactStore.findPageImages(uuid, 300)).isEmpty();
+
+      derivedArtifactStore.deleteAll(uuid);
+
+      assertThat(derivedArtifactStore.findPageImages(uuid, 150)).isEmpty();
+      assertThat(testStorageHelper.objectExists("derived/" + uuid + "/pages-150/1.png")).isFalse();
+    }
+  }
+
+  @Nested
+  @DisplayName("Local object cache")
+  class LocalObjectCacheTests {
+
+    @TempDir
+    Path cacheDirectory;
+
+    private LocalObjectCache createCache(long maxBytes) {
+      FileDepotProperties cacheProperties = new FileDepotProperties();
+      var localCache = cacheProperties.getMinio().getLocalCache();
+      localCache.setEnabled(true);
+      localCache.setDirectory(cacheDirectory.toString());
+      localCache.setMaxBytes(maxBytes);
+
+      LocalObjectCache cache = new LocalObjectCache(cacheProperties, new SimpleMeterRegistry());
+      cache.init();
+      return cache;
+    }
+
+    @Test
+    @DisplayName("should serve repeated reads from disk without reloading")
+    void shouldServeRepeatedReadsFromDisk() throws Exception {
+      String objectName = "cache-test-" + System.currentTimeMillis();
+      testStorageHelper.putObject(objectName, "cached content".getBytes(), "text/plain");
+      LocalObjectCache cache = createCache(1024);
+      AtomicInteger loads = new AtomicInteger();
+
+      for (int i = 0; i < 3; i++) {
+        try (InputStream is = cache.open(objectName, () -> {
+          loads.incrementAndGet();
+          return storageClient.getObject(objectName);
+        })) {
+          assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("cached content");
+        }
+      }
+
+      assertThat(loads).hasValue(1);
+
+      cache.invalidate(objectName);
+      try (InputStream is = cache.open(objectName, () -> {
+        loads.incrementAndGet();
+        return storageClient.getObject(objectName);
+      })) {
+        is.readAllBytes();
+      }
+
+      assertThat(loads).hasValue(2);
+
+      testStorageHelper.removeObject(objectName);
+    }
+
+    @Test
+    @DisplayName("should evict least recently used objects beyond the byte limit")
+    void shouldEvictLeastRecentlyUsed() throws Exception {
+      LocalObjectCache cache = createCache(10);
+      AtomicInteger loads = new AtomicInteger();
+
+      for (String name : List.of("a", "b", "a", "c", "b")) {
+        try (InputStream is = cache.open(name, () -> {
+          loads.incrementAndGet();
+          return new ByteArrayInputStream("12345".getBytes());
+        })) {
+          assertThat(is.readAllBytes()).hasSize(5);
+        }
+      }
+
+      // a, b 로드 → a 적중 → c 로드 시 b 제거 → b 다시 로드
+      assertThat(loads).hasValue(4);
+      try (var files = Files.list(cacheDirectory)) {
+        assertThat(files.count()).isEqualTo(2);
+      }
+    }
+
+    @Test
+    @DisplayName("should stream objects larger than the limit without keeping a local copy")
+    void shouldNotCacheObjectsLargerThanLimit() throws Exception {
+      LocalObjectCache cache = createCache(10);
+      AtomicInteger loads = new AtomicInteger();
+
+      for (int i = 0; i < 2; i++) {
+        try (InputStream is = cache.open("large", () -> {
+          loads.incrementAndGet();
+          return new ByteArrayInputStream(new byte[100]);
+        })) {
+          assertThat(is.readAllBytes()).hasSize(100);
+        }
+      }
+
+      assertThat(loads).hasValue(2);
+      try (var files = Files.list(cacheDirectory)) {
+        assertThat(files.count()).isZero();
+      }
+    }
+
+    @Test
+    @DisplayName("should not cache partially read or concurrently invalidated objects")
+    void shouldNotCacheIncompleteOrInvalidatedLoads() throws Exception {
+      LocalObjectCache cache = createCache(1024);
+
+      try (InputStream is = cache.open("partial", () -> new ByteArrayInputStream("12345".getBytes()))) {
+        assertThat(is.read()).isEqualTo('1');
+      }
+
+      InputStream stale = cache.open("overwritten", () -> new ByteArrayInputStream("old".getBytes()));
+      stale.read(new byte[2]);
+      cache.invalidate("overwritten");
+      stale.readAllBytes();
+      stale.close();
+
+      try (var files = Files.list(cacheDirectory)) {
+        assertThat(files.count()).isZero();
+      }
+      try (InputStream is = cache.open("overwritten", () -> new ByteArrayInputStream("new".getBytes()))) {
+        assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("new");
+      }
+    }
+
+    @Test
+    @DisplayName("should count in-flight downloads against the byte limit")
+    void shouldReserveInFlightDownloads() throws Exception {
+      LocalObjectCache cache = createCache(10);
+
+      InputStream inFlight = cache.open("first", () -> new ByteArrayInputStream("123456".getBytes()));
+      assertThat(inFlight.read(new byte[6])).isEqualTo(6);
+      try (InputStream is = cache.open("second", () -> new ByteArrayInputStream("123456".getBytes()))) {
+        assertThat(is.readAllBytes()).hasSize(6);
+      }
+
+      // 받는 중인 6바이트가 예약되어 있으므로 두 번째 객체는 한도를 넘겨 캐시되지 않습니다.
+      assertThat(cacheDirectory.resolve("second")).doesNotExist();
+      inFlight.readAllBytes();
+      inFlight.close();
+      try (var files = Files.list(cacheDirectory)) {
+        assertThat(files.map(file -> file.getFileName().toString())).containsExactly("first");
+      }
+    }
+
+    @Test
+    @DisplayName("should keep cached keys ending in .tmp and drop unfinished downloads on restart")
+    void shouldKeepTmpKeysOnRestart() throws Exception {
+      LocalObjectCache cache = createCache(1024);
+      try (InputStream is = cache.open("report.tmp", () -> new ByteArrayInputStream("cached".getBytes()))) {
+        is.readAllBytes();
+      }
+      InputStream unfinished = cache.open("unfinished", () -> new ByteArrayInputStream("12345".getBytes()));
+      unfinished.read(new byte[2]);
+
+      LocalObjectCache restarted = createCache(1024);
+      unfinished.close();
+      AtomicInteger loads = new AtomicInteger();
+
+      try (InputStream is = restarted.open("report.tmp", () -> {
+        loads.incrementAndGet();
+        return new ByteArrayInputStream("reloaded".getBytes());
+      })) {
+        assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("cached");
+      }
+      assertThat(loads).hasValue(0);
+      try (var files = Files.list(cacheDirectory)) {
+        assertThat(files.map(file -> file.getFileName().toString())).containsExactly("report.tmp");
+      }
+    }
+  }
 }
@@ -0,0 +1,136 @@
+package com.saltlux.filedepot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.saltlux.filedepot.service.Base64ImageScanner.ImageSpan;
+
+/**
+ * 스캐너가 이전 구현(정규식 + {@link java.util.Base64})과 같은 결과를 내는지 무작위 입력으로 비교합니다.
+ */
+class Base64ImageScannerTest {
+
+  private static final Pattern BASE64_IMAGE_PATTERN = Pattern
+      .compile("!\\[Image\\]\\(data:image/([^;]+);base64,([^)]+)\\)");
+  private static final String[] NOISE = {
+      "본문 ", "text ", "\n", ")", ";", "=", "![Image](", "![Image](data:image/", ";base64,", "data:image/png",
+      "![Image](data:image/png;base64,", "![Image](data:image/;base64,QUJD)", "![Image](data:image/png;base64,)",
+  };
+
+  @Test
+  @DisplayName("should find the same image spans as the regex")
+  void shouldMatchRegexSpans() {
+    Random random = new Random(20);
+    for (int round = 0; round < 2000; round++) {
+      String markdown = randomMarkdown(random);
+
+      List<ImageSpan> spans = new Base64ImageScanner(markdown).spans();
+
+      Matcher matcher = BASE64_IMAGE_PATTERN.matcher(markdown);
+      List<ImageSpan> expected = new ArrayList<>();
+      while (matcher.find()) {
+        expected.add(new ImageSpan(matcher.start(), matcher.end(), matcher.start(2), matcher.end(2)));
+      }
+      assertThat(spans).as(markdown).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  @DisplayName("should decode and reject the same data as java.util.Base64")
+  void shouldMatchJdkDecoder() {
+    Random random = new Random(20);
+    for (int round = 0; round < 5000; round++) {
+      String data = randomBase64(random);
+      String markdown = "![Image](data:image/png;base64," + data + ")";
+      Base64ImageScanner scanner = new Base64ImageScanner(markdown);
+      ImageSpan span = scanner.spans().get(0);
+
+      byte[] expected;
+      try {
+        expected = Base64.getDecoder().decode(data);
+      } catch (IllegalArgumentException e) {
+        assertThatThrownBy(() -> scanner.decode(span)).as(data).isInstanceOf(IllegalArgumentException.class);
+        continue;
+      }
+      int length = scanner.decode(span);
+      assertThat(Arrays.copyOf(scanner.buffer(), length)).as(data).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  @DisplayName("should replace images the same way as the regex-based replacement")
+  void shouldMatchRegexReplacement() throws Exception {
+    Random random = new Random(20);
+    for (int round = 0; round < 2000; round++) {
+      String markdown = randomMarkdown(random);
+      Base64ImageScanner scanner = new Base64ImageScanner(markdown);
+      List<String> replacements = new ArrayList<>();
+      for (int i = 0; i < scanner.spans().size(); i++) {
+        replacements.add(random.nextBoolean() ? "[ocr " + i + "]" : null);
+      }
+
+      StringBuilder actual = new StringBuilder();
+      scanner.writeTo(replacements, actual);
+
+      Matcher matcher = BASE64_IMAGE_PATTERN.matcher(markdown);
+      StringBuilder expected = new StringBuilder();
+      int index = 0;
+      while (matcher.find()) {
+        String replacement = replacements.get(index++);
+        matcher.appendReplacement(expected, Matcher.quoteReplacement(replacement != null ? replacement
+            : matcher.group()));
+      }
+      matcher.appendTail(expected);
+
+      assertThat(actual.toString()).as(markdown).isEqualTo(expected.toString());
+      assertThat(scanner.outputLength(replacements)).isEqualTo(expected.length());
+    }
+  }
+
+  private static String randomMarkdown(Random random) {
+    StringBuilder markdown = new StringBuilder();
+    int parts = random.nextInt(8);
+    for (int i = 0; i < parts; i++) {
+      if (random.nextInt(3) == 0) {
+        markdown.append("![Image](data:image/").append(random.nextBoolean() ? "png" : "svg+xml")
+            .append(";base64,").append(randomBase64(random)).append(')');
+      } else {
+        markdown.append(NOISE[random.nextInt(NOISE.length)]);
+      }
+    }
+    return markdown.toString();
+  }
+
+  /**
+   * 올바른 base64와, 패딩 누락·잘못된 패딩·허용되지 않는 글자·잘린 길이 같은 깨진 값을 섞어 만듭니다.
+   */
+  private static String randomBase64(Random random) {
+    byte[] bytes = new byte[1 + random.nextInt(16)];
+    random.nextBytes(bytes);
+    String encoded = Base64.getEncoder().encodeToString(bytes);
+    return switch (random.nextInt(6)) {
+      case 0 -> encoded.replace("=", "");
+      case 1 -> encoded + "=";
+      case 2 -> encoded.substring(0, random.nextInt(encoded.length()) + 1);
+      case 3 -> insert(encoded, random, "-_ \n*".charAt(random.nextInt(5)));
+      case 4 -> insert(encoded, random, '=');
+      default -> encoded;
+    };
+  }
+
+  private static String insert(String value, Random random, char c) {
+    int at = random.nextInt(value.length() + 1);
+    return value.substring(0, at) + c + value.substring(at);
+  }
+}
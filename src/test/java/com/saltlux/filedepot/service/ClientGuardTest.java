@@ -0,0 +1,281 @@
+package com.saltlux.filedepot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.config.FileDepotProperties.GuardProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ClientGuardTest {
+
+  private static final int FAILURE_THRESHOLD = 3;
+
+  private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger invocations = new AtomicInteger();
+
+  @AfterEach
+  void tearDown() {
+    callExecutor.shutdownNow();
+  }
+
+  @Nested
+  @DisplayName("Circuit breaker")
+  class CircuitTests {
+
+    @Test
+    @DisplayName("should open after consecutive failures and reject without calling the client")
+    void shouldTripAndReject() {
+      ClientGuard guard = guard(4, 5, 60);
+
+      failTimes(guard, FAILURE_THRESHOLD);
+
+      assertThatThrownBy(() -> guard.call(succeeding()))
+          .isInstanceOf(ClientUnavailableException.class)
+          .hasMessageContaining("circuit open");
+      assertThat(invocations).hasValue(FAILURE_THRESHOLD);
+      assertThat(circuitState()).isEqualTo(1);
+      assertThat(calls("rejected")).isEqualTo(1);
+      assertThat(calls("failure")).isEqualTo(FAILURE_THRESHOLD);
+    }
+
+    @Test
+    @DisplayName("should reset the failure count on success")
+    void shouldResetOnSuccess() {
+      ClientGuard guard = guard(4, 5, 60);
+
+      failTimes(guard, FAILURE_THRESHOLD - 1);
+      assertThat(guard.call(succeeding())).isEqualTo("ok");
+      failTimes(guard, FAILURE_THRESHOLD - 1);
+
+      assertThat(circuitState()).isEqualTo(0);
+      assertThat(guard.call(succeeding())).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("should not count caller errors as failures")
+    void shouldNotTripOnCallerErrors() {
+      ClientGuard guard = guard(4, 5, 60);
+      WebClientResponseException notFound = serverResponse(HttpStatus.NOT_FOUND);
+
+      for (int i = 0; i < FAILURE_THRESHOLD * 2; i++) {
+        assertThatThrownBy(() -> guard.call(failing(new IllegalArgumentException("bad input"))))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> guard.call(failing(notFound)))
+            .isInstanceOf(WebClientResponseException.class);
+      }
+
+      assertThat(guard.call(succeeding())).isEqualTo("ok");
+      assertThat(circuitState()).isEqualTo(0);
+      assertThat(calls("failure")).isZero();
+    }
+
+    @Test
+    @DisplayName("should count 5xx responses as failures")
+    void shouldTripOnServerErrors() {
+      ClientGuard guard = guard(4, 5, 60);
+      WebClientResponseException unavailable = serverResponse(HttpStatus.SERVICE_UNAVAILABLE);
+
+      for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+        assertThatThrownBy(() -> guard.call(failing(unavailable))).isInstanceOf(WebClientResponseException.class);
+      }
+
+      assertThatThrownBy(() -> guard.call(succeeding())).isInstanceOf(ClientUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("should close when the half-open trial call succeeds")
+    void shouldCloseOnTrialSuccess() {
+      ClientGuard guard = guard(4, 5, 0);
+      trip(guard);
+
+      assertThat(guard.call(succeeding())).isEqualTo("ok");
+
+      assertThat(circuitState()).isEqualTo(0);
+      assertThatThrownBy(() -> guard.call(failing(new IllegalStateException("503"))))
+          .isInstanceOf(IllegalStateException.class);
+      assertThat(circuitState()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("should reopen when the half-open trial call fails")
+    void shouldReopenOnTrialFailure() {
+      ClientGuard guard = guard(4, 5, 0);
+      trip(guard);
+
+      assertThatThrownBy(() -> guard.call(failing(new IllegalStateException("503"))))
+          .isInstanceOf(IllegalStateException.class);
+
+      assertThat(circuitState()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should let only one trial call through while half-open")
+    void shouldRejectWhileTrialInFlight() throws Exception {
+      ClientGuard guard = guard(4, 5, 0);
+      trip(guard);
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+
+      CompletableFuture<String> trial = CompletableFuture.supplyAsync(
+          () -> guard.call(blocking(started, release)), callExecutor);
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertThatThrownBy(() -> guard.call(succeeding()))
+          .isInstanceOf(ClientUnavailableException.class)
+          .hasMessageContaining("trial call in flight");
+
+      release.countDown();
+      assertThat(trial.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+      assertThat(circuitState()).isEqualTo(0);
+    }
+  }
+
+  @Nested
+  @DisplayName("Bulkhead and deadline")
+  class BulkheadTests {
+
+    @Test
+    @DisplayName("should reject right away instead of waiting for the call deadline when no slot is free")
+    void shouldRejectWhenFull() throws Exception {
+      ClientGuard guard = guard(1, 60, 60);
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+
+      CompletableFuture<String> inFlight = CompletableFuture.supplyAsync(
+          () -> guard.call(blocking(started, release)), callExecutor);
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThatThrownBy(() -> guard.call(succeeding()))
+          .isInstanceOf(ClientUnavailableException.class)
+          .hasMessageContaining("no free slot"));
+
+      assertThat(calls("rejected")).isEqualTo(1);
+      release.countDown();
+      assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("should keep Docling calls going while the VLM bulkhead is saturated")
+    void shouldNotBlockOtherClientsWhenOneIsSaturated() throws Exception {
+      FileDepotProperties properties = new FileDepotProperties();
+      properties.getProcessing().getClientGuard().getVlm().setMaxConcurrency(1);
+      ClientGuards guards = new ClientGuards(properties, meterRegistry);
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+
+      try {
+        CompletableFuture<String> hungOcr = CompletableFuture.supplyAsync(
+            () -> guards.vlm().call(blocking(started, release)), callExecutor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 처리 스레드가 VLM 호출 기한(120초)만큼 붙잡히지 않고 바로 돌아와 Docling 문서를 계속 처리합니다.
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+          assertThatThrownBy(() -> guards.vlm().call(succeeding()))
+              .isInstanceOf(ClientUnavailableException.class)
+              .hasMessageContaining("no free slot");
+          assertThat(guards.docling().call(succeeding())).isEqualTo("ok");
+        });
+
+        release.countDown();
+        assertThat(hungOcr.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+      } finally {
+        release.countDown();
+        guards.shutdown();
+      }
+    }
+
+    @Test
+    @DisplayName("should count a timeout as a failure")
+    void shouldFailOnTimeout() {
+      ClientGuard guard = guard(4, 1, 60);
+
+      assertThatThrownBy(() -> guard.call(blocking(new CountDownLatch(1), new CountDownLatch(1))))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("timed out");
+
+      assertThat(calls("timeout")).isEqualTo(1);
+    }
+  }
+
+  private ClientGuard guard(int maxConcurrency, int timeoutSeconds, int openSeconds) {
+    GuardProperties properties = new GuardProperties();
+    properties.setMaxConcurrency(maxConcurrency);
+    properties.setTimeoutSeconds(timeoutSeconds);
+    return new ClientGuard("test", properties, FAILURE_THRESHOLD, openSeconds, callExecutor, meterRegistry);
+  }
+
+  private void trip(ClientGuard guard) {
+    failTimes(guard, FAILURE_THRESHOLD);
+    assertThat(circuitState()).isEqualTo(1);
+  }
+
+  private void failTimes(ClientGuard guard, int times) {
+    for (int i = 0; i < times; i++) {
+      assertThatThrownBy(() -> guard.call(failing(new IllegalStateException("503"))))
+          .isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  private static WebClientResponseException serverResponse(HttpStatus status) {
+    return WebClientResponseException.create(status, status.getReasonPhrase(), HttpHeaders.EMPTY, new byte[0],
+        null, null);
+  }
+
+  private Supplier<String> succeeding() {
+    return () -> {
+      invocations.incrementAndGet();
+      return "ok";
+    };
+  }
+
+  private Supplier<String> failing(RuntimeException failure) {
+    return () -> {
+      invocations.incrementAndGet();
+      throw failure;
+    };
+  }
+
+  private Supplier<String> blocking(CountDownLatch started, CountDownLatch release) {
+    return () -> {
+      invocations.incrementAndGet();
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("interrupted", e);
+      }
+      return "ok";
+    };
+  }
+
+  private double circuitState() {
+    return meterRegistry.get("filedepot.client.circuit.state").tag("client", "test").gauge().value();
+  }
+
+  private double calls(String result) {
+    return meterRegistry.get("filedepot.client.calls").tag("client", "test").tag("result", result).counter().count();
+  }
+}
@@ -0,0 +1,104 @@
+package com.saltlux.filedepot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.saltlux.embedkit.TextEmbeddingClient;
+import com.saltlux.embedkit.payload.EmbeddingResult;
+import com.saltlux.filedepot.config.FileDepotProperties;
+import com.saltlux.filedepot.config.FileDepotProperties.EmbedKitProvider;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmbeddingBatcherTest {
+
+  private static final int BATCH_SIZE = 3;
+
+  private final TextEmbeddingClient client = mock(TextEmbeddingClient.class);
+  private final List<List<String>> calls = Collections.synchronizedList(new ArrayList<>());
+  private final List<EmbeddingResult> results = new ArrayList<>();
+  private EmbeddingBatcher batcher;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      EmbeddingResult result = mock(EmbeddingResult.class);
+      when(result.index()).thenReturn(i);
+      when(result.embedding()).thenReturn(List.of((float) i));
+      results.add(result);
+    }
+
+    FileDepotProperties properties = new FileDepotProperties();
+    properties.getEmbedkit().setProvider(EmbedKitProvider.VLLM);
+    properties.getEmbedkit().getVllm().setBatchSize(BATCH_SIZE);
+    // 배치가 가득 찰 때만 보내도록 대기 시간을 충분히 둡니다.
+    properties.getEmbedkit().getBatching().setMaxWaitMillis(10_000);
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    batcher = new EmbeddingBatcher(new ClientGuards(properties, meterRegistry), properties, meterRegistry);
+    ReflectionTestUtils.setField(batcher, "textEmbeddingClient", client);
+    batcher.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    batcher.stop();
+  }
+
+  @Test
+  @DisplayName("should resend each request of a failed batch so only the offending document fails")
+  void shouldIsolateFailingRequest() throws Exception {
+    when(client.embed(anyList())).thenAnswer(invocation -> {
+      List<String> texts = invocation.getArgument(0);
+      calls.add(texts);
+      if (texts.contains("bad")) {
+        throw new IllegalStateException("500 Internal Server Error");
+      }
+      return results.subList(0, texts.size());
+    });
+
+    CompletableFuture<List<List<Float>>> good = CompletableFuture
+        .supplyAsync(() -> batcher.embed(List.of("a", "b")));
+    CompletableFuture<List<List<Float>>> bad = CompletableFuture
+        .supplyAsync(() -> batcher.embed(List.of("bad")));
+
+    assertThat(good.get(10, TimeUnit.SECONDS)).containsExactly(List.of(0f), List.of(1f));
+    assertThatThrownBy(() -> bad.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+    assertThat(calls).hasSize(3);
+    assertThat(calls.get(0)).hasSize(BATCH_SIZE);
+    assertThat(calls.subList(1, 3)).containsExactlyInAnyOrder(List.of("a", "b"), List.of("bad"));
+  }
+
+  @Test
+  @DisplayName("should fail the whole batch without resending when the client is unavailable")
+  void shouldNotResendRejectedBatch() {
+    when(client.embed(anyList())).thenAnswer(invocation -> {
+      calls.add(invocation.getArgument(0));
+      throw new ClientUnavailableException("embedding", "overloaded");
+    });
+
+    CompletableFuture<List<List<Float>>> first = CompletableFuture
+        .supplyAsync(() -> batcher.embed(List.of("a", "b")));
+    CompletableFuture<List<List<Float>>> second = CompletableFuture
+        .supplyAsync(() -> batcher.embed(List.of("c")));
+
+    assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(ClientUnavailableException.class);
+    assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(ClientUnavailableException.class);
+    assertThat(calls).hasSize(1);
+  }
+}
@@ -0,0 +1,61 @@
+package com.saltlux.filedepot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExtractionInputTest {
+
+  private static final long SPILL_THRESHOLD = 1024;
+
+  @TempDir
+  Path spillDirectory;
+
+  @Test
+  @DisplayName("should keep input up to the spill threshold on heap")
+  void shouldKeepSmallInputOnHeap() throws Exception {
+    byte[] content = randomBytes((int) SPILL_THRESHOLD);
+
+    try (ExtractionInput input = ExtractionInput.from(new ByteArrayInputStream(content), SPILL_THRESHOLD,
+        spillDirectory)) {
+      assertThat(input.isSpilled()).isFalse();
+      assertThat(input.size()).isEqualTo(content.length);
+      assertThat(input.toBytes()).isEqualTo(content);
+    }
+    try (var files = Files.list(spillDirectory)) {
+      assertThat(files.count()).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("should spill input above the threshold to a temp file and round-trip it")
+  void shouldSpillLargeInputAndRoundTrip() throws Exception {
+    byte[] content = randomBytes((int) SPILL_THRESHOLD * 200 + 7);
+
+    Path spillFile;
+    try (ExtractionInput input = ExtractionInput.from(new ByteArrayInputStream(content), SPILL_THRESHOLD,
+        spillDirectory)) {
+      assertThat(input.isSpilled()).isTrue();
+      assertThat(input.size()).isEqualTo(content.length);
+      spillFile = input.spillFile();
+      assertThat(spillFile).exists().hasParent(spillDirectory);
+      assertThat(Files.readAllBytes(spillFile)).isEqualTo(content);
+      assertThat(input.toBytes()).isEqualTo(content);
+    }
+
+    assertThat(spillFile).doesNotExist();
+  }
+
+  private static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random(length).nextBytes(bytes);
+    return bytes;
+  }
+}
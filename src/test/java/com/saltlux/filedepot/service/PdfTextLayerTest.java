@@ -0,0 +1,156 @@
+package com.saltlux.filedepot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PdfTextLayerTest {
+
+  private static final int MIN_CHARS = 50;
+  private static final double MIN_QUALITY_RATIO = 0.9;
+
+  @Nested
+  @DisplayName("Text layer quality")
+  class IsUsableTests {
+
+    @Test
+    @DisplayName("should require min-chars non-whitespace characters")
+    void shouldApplyMinCharsBoundary() {
+      assertThat(PdfTextLayer.isUsable("가".repeat(MIN_CHARS), MIN_CHARS, MIN_QUALITY_RATIO)).isTrue();
+      assertThat(PdfTextLayer.isUsable("가".repeat(MIN_CHARS - 1), MIN_CHARS, MIN_QUALITY_RATIO)).isFalse();
+      assertThat(PdfTextLayer.isUsable(" \n\t".repeat(100) + "a".repeat(MIN_CHARS - 1), MIN_CHARS,
+          MIN_QUALITY_RATIO)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should count characters by code point")
+    void shouldCountCodePoints() {
+      assertThat(PdfTextLayer.isUsable("😀".repeat(MIN_CHARS), MIN_CHARS, MIN_QUALITY_RATIO)).isTrue();
+      assertThat(PdfTextLayer.isUsable("😀".repeat(MIN_CHARS / 2), MIN_CHARS, MIN_QUALITY_RATIO)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject replacement, private-use and control characters beyond the quality ratio")
+    void shouldApplyQualityRatio() {
+      String readable = "a".repeat(90);
+
+      assertThat(PdfTextLayer.isUsable(readable + "\uFFFD".repeat(10), MIN_CHARS, MIN_QUALITY_RATIO)).isTrue();
+      assertThat(PdfTextLayer.isUsable(readable + "\uFFFD".repeat(11), MIN_CHARS, MIN_QUALITY_RATIO)).isFalse();
+      assertThat(PdfTextLayer.isUsable(readable + "\uE000".repeat(11), MIN_CHARS, MIN_QUALITY_RATIO)).isFalse();
+      assertThat(PdfTextLayer.isUsable(readable + "\u0001".repeat(11), MIN_CHARS, MIN_QUALITY_RATIO)).isFalse();
+      assertThat(PdfTextLayer.isUsable("\uE000".repeat(100), MIN_CHARS, MIN_QUALITY_RATIO)).isFalse();
+    }
+  }
+
+  @Nested
+  @DisplayName("Text layer and OCR page mixing")
+  class FillFromTextLayerTests {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    @DisplayName("should use the text page as is and select only the image page for OCR")
+    void shouldSelectOnlyImagePageForOcr() throws Exception {
+      byte[] pdfBytes = createTextAndImagePdf();
+
+      try (ExtractionInput input = ExtractionInput.from(new ByteArrayInputStream(pdfBytes), 0, spillDirectory);
+          PdfTextLayer pdf = PdfTextLayer.open(input)) {
+        Map<Integer, String> pageTexts = new HashMap<>();
+
+        List<Integer> ocrPages = pdf.fillFromTextLayer(pageTexts, MIN_CHARS, MIN_QUALITY_RATIO);
+
+        assertThat(input.isSpilled()).isTrue();
+        assertThat(pdf.pageCount()).isEqualTo(2);
+        assertThat(ocrPages).containsExactly(2);
+        assertThat(pageTexts).containsOnlyKeys(1);
+        assertThat(pageTexts.get(1)).contains("The quick brown fox");
+        assertThat(pdf.renderPng(2, 72)).isNotEmpty();
+      }
+    }
+
+    @Test
+    @DisplayName("should skip pages that already have a checkpoint")
+    void shouldSkipCheckpointedPages() throws Exception {
+      byte[] pdfBytes = createTextAndImagePdf();
+
+      try (ExtractionInput input = ExtractionInput.from(new ByteArrayInputStream(pdfBytes), 1 << 20, spillDirectory);
+          PdfTextLayer pdf = PdfTextLayer.open(input)) {
+        Map<Integer, String> pageTexts = new HashMap<>(Map.of(2, "checkpoint"));
+
+        List<Integer> ocrPages = pdf.fillFromTextLayer(pageTexts, MIN_CHARS, MIN_QUALITY_RATIO);
+
+        assertThat(ocrPages).isEmpty();
+        assertThat(pageTexts).containsOnlyKeys(1, 2);
+        assertThat(pageTexts.get(2)).isEqualTo("checkpoint");
+      }
+    }
+
+    @Test
+    @DisplayName("should refuse to render once closed so late OCR tasks fail cleanly")
+    void shouldRejectRenderAfterClose() throws Exception {
+      byte[] pdfBytes = createTextAndImagePdf();
+
+      try (ExtractionInput input = ExtractionInput.from(new ByteArrayInputStream(pdfBytes), 1 << 20, spillDirectory)) {
+        PdfTextLayer pdf = PdfTextLayer.open(input);
+        pdf.close();
+
+        assertThatThrownBy(() -> pdf.renderPng(2, 72)).isInstanceOf(IOException.class);
+      }
+    }
+
+    private byte[] createTextAndImagePdf() throws Exception {
+      try (PDDocument document = new PDDocument()) {
+        PDPage textPage = new PDPage();
+        document.addPage(textPage);
+        try (PDPageContentStream content = new PDPageContentStream(document, textPage)) {
+          content.beginText();
+          content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+          content.newLineAtOffset(50, 700);
+          content.showText("The quick brown fox jumps over the lazy dog. Page one has a real text layer.");
+          content.endText();
+        }
+
+        PDPage imagePage = new PDPage();
+        document.addPage(imagePage);
+        BufferedImage scan = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scan.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 400, 200);
+        graphics.setColor(Color.BLACK);
+        graphics.drawString("Scanned page without a text layer", 20, 100);
+        graphics.dispose();
+        PDImageXObject image = LosslessFactory.createFromImage(document, scan);
+        try (PDPageContentStream content = new PDPageContentStream(document, imagePage)) {
+          content.drawImage(image, 50, 400, 400, 200);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.save(out);
+        return out.toByteArray();
+      }
+    }
+  }
+}
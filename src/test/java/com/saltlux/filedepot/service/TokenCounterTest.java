@@ -0,0 +1,97 @@
+package com.saltlux.filedepot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltlux.filedepot.config.FileDepotProperties;
+
+class TokenCounterTest {
+
+  private static final String VOCAB = """
+      {"[UNK]": 0, "hello": 1, "world": 2, ",": 3, "'": 4, "don": 5, "t": 6, "##t": 15, "中": 7, "文": 8,
+       "cafe": 9, "run": 10, "##ning": 11, "ᄒ": 12, "##ᅡ": 13, "##ᆫ": 14}""";
+
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("should lowercase and strip accents for an uncased BERT vocabulary")
+  void shouldApplyUncasedNormalization() throws Exception {
+    TokenCounter counter = counter("""
+        {"type": "BertNormalizer", "clean_text": true, "handle_chinese_chars": true,
+         "strip_accents": null, "lowercase": true}""", "{\"type\": \"BertPreTokenizer\"}");
+
+    assertThat(count(counter, "Héllo WORLD")).isEqualTo(2);
+    assertThat(count(counter, "Café RUNning")).isEqualTo(3);
+    // NFD로 한글 음절이 자모로 분해됩니다.
+    assertThat(count(counter, "한")).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("should keep case and accents for a cased BERT vocabulary")
+  void shouldKeepCaseForCasedVocabulary() throws Exception {
+    TokenCounter counter = counter("""
+        {"type": "BertNormalizer", "clean_text": true, "handle_chinese_chars": true,
+         "strip_accents": null, "lowercase": false}""", "{\"type\": \"BertPreTokenizer\"}");
+
+    assertThat(count(counter, "running")).isEqualTo(2);
+    assertThat(count(counter, "RUNning")).isEqualTo(1);
+    assertThat(count(counter, "Café")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should split punctuation and Chinese characters into their own words")
+  void shouldPreSplitPunctuationAndChineseChars() throws Exception {
+    TokenCounter counter = counter("""
+        {"type": "BertNormalizer", "lowercase": true}""", "{\"type\": \"BertPreTokenizer\"}");
+
+    assertThat(count(counter, "hello, world")).isEqualTo(3);
+    assertThat(count(counter, "don't")).isEqualTo(3);
+    assertThat(count(counter, "中文abc")).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("should count words longer than max_input_chars_per_word as one unknown token")
+  void shouldLimitWordLength() throws Exception {
+    TokenCounter counter = counter("""
+        {"type": "BertNormalizer", "lowercase": true}""", "{\"type\": \"BertPreTokenizer\"}");
+
+    assertThat(count(counter, "t".repeat(100))).isEqualTo(100);
+    assertThat(count(counter, "t".repeat(101))).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should match the raw text when the tokenizer has no normalizer")
+  void shouldSkipNormalizationWithoutNormalizer() throws Exception {
+    TokenCounter counter = counter("null", "null");
+
+    assertThat(count(counter, "hello,")).isEqualTo(1);
+    assertThat(count(counter, "Hello")).isEqualTo(1);
+    assertThat(count(counter, "hello world")).isEqualTo(2);
+  }
+
+  private TokenCounter counter(String normalizer, String preTokenizer) throws Exception {
+    Path tokenizer = directory.resolve("tokenizer.json");
+    Files.writeString(tokenizer, """
+        {"normalizer": %s, "pre_tokenizer": %s,
+         "model": {"type": "WordPiece", "unk_token": "[UNK]", "continuing_subword_prefix": "##",
+                   "max_input_chars_per_word": 100, "vocab": %s}}""".formatted(normalizer, preTokenizer, VOCAB));
+
+    FileDepotProperties properties = new FileDepotProperties();
+    properties.getProcessing().getChunking().setTokenizerPath(tokenizer.toString());
+    TokenCounter counter = new TokenCounter(properties, new ObjectMapper());
+    counter.loadVocabulary();
+    return counter;
+  }
+
+  private static int count(TokenCounter counter, String text) {
+    return counter.count(text, 0, text.length());
+  }
+}